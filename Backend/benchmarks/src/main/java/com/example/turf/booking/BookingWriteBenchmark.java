@@ -0,0 +1,104 @@
+package com.example.turf.booking;
+
+import com.example.turf.support.H2JpaContext;
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.user.Role;
+import com.example.turf.user.User;
+import com.example.turf.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * One transaction inserting {@value #ROWS} bookings, with and without JDBC batching, on H2
+ * behind a proxy that adds a network round trip to every statement execution and commit,
+ * the way a remote Postgres does. Pooled sequence ids are what let Hibernate batch at all;
+ * reWriteBatchedInserts and the server-side statement cache then shave the remaining
+ * per-batch cost on Postgres, which H2 can't show. Round trips per insert are printed
+ * at the end of the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingWriteBenchmark {
+  static final int ROWS = 500;
+
+  @Param({"1", "50"})
+  int batchSize;
+
+  @Param({"250"})
+  int roundTripMicros;
+
+  ConfigurableApplicationContext context;
+  BookingRepository bookings;
+  TransactionTemplate tx;
+  JdbcTemplate jdbc;
+  EntityManager em;
+  Turf turf;
+  User user;
+  LocalDate next = LocalDate.now().plusDays(1);
+  long inserts;
+  long roundTrips;
+
+  @Setup
+  public void setUp() {
+    context = H2JpaContext.start();
+    bookings = context.getBean(BookingRepository.class);
+    tx = context.getBean(TransactionTemplate.class);
+    jdbc = context.getBean(JdbcTemplate.class);
+    em = context.getBean(EntityManager.class);
+    turf = context.getBean(TurfRepository.class).save(
+        Turf.builder().name("Bench Turf").area("Lab").sportType("Football").build());
+    user = context.getBean(UserRepository.class).save(User.builder().fullName("Bench").email("bench@example.com")
+        .passwordHash("x").roles(Set.of(Role.USER)).createdAt(Instant.now()).build());
+    H2JpaContext.delayRoundTrips(Duration.ofNanos(roundTripMicros * 1000L));
+  }
+
+  @TearDown(Level.Iteration)
+  public void clearBookings() {
+    H2JpaContext.delayRoundTrips(Duration.ZERO);
+    jdbc.update("delete from bookings");
+    H2JpaContext.delayRoundTrips(Duration.ofNanos(roundTripMicros * 1000L));
+  }
+
+  @TearDown
+  public void tearDown() {
+    H2JpaContext.delayRoundTrips(Duration.ZERO);
+    System.out.printf("%nbatch_size=%d: %d round trips per %d-row insert%n", batchSize, roundTrips / inserts, ROWS);
+    context.close();
+  }
+
+  @Benchmark
+  public List<Booking> insert() {
+    var from = next;
+    next = next.plusDays(ROWS);
+    long before = H2JpaContext.roundTrips();
+    var saved = tx.execute(status -> {
+      em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+      var rows = bookings.saveAll(IntStream.range(0, ROWS).mapToObj(i -> Booking.builder()
+          .turf(turf).user(user).bookingDate(from.plusDays(i)).bookingTime("06:00-08:00").slotStart(360).slotEnd(480)
+          .status(BookingStatus.BOOKED).confirmationRef(ConfirmationCode.next(Instant.now()).value())
+          .createdAt(Instant.now()).build()).toList());
+      bookings.flush();
+      return rows;
+    });
+    roundTrips += H2JpaContext.roundTrips() - before;
+    inserts++;
+    return saved;
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.turf.booking;
+
+import com.example.turf.booking.occupancy.SlotGrid;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * "HH:mm-HH:mm" slot strings, as parsed on every booking, availability query and
+ * legacy row: request validation, parsing to minutes, and the occupancy grid mask.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotParsingBenchmark {
+  private static final Pattern SLOT = Pattern.compile(TimeSlot.PATTERN);
+  // typical slots plus padding and a legacy free-text one
+  private static final String[] SLOTS = {"06:00-08:00", "18:30-20:00", " 21:00 - 24:00 ", "07:00-07:30", "evening"};
+
+  @Benchmark
+  public void validate(Blackhole bh) {
+    for (var s : SLOTS) bh.consume(SLOT.matcher(s).matches());
+  }
+
+  @Benchmark
+  public void tryParse(Blackhole bh) {
+    for (var s : SLOTS) {
+      Optional<TimeSlot> slot = TimeSlot.tryParse(s);
+      bh.consume(slot);
+    }
+  }
+
+  @Benchmark
+  public void mask(Blackhole bh) {
+    for (var s : SLOTS) bh.consume(SlotGrid.mask(s));
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.turf.common.ratelimit;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link TokenBucketLimiter#tryAcquire} per request: a single hot key (one client
+ * hammering), and 50k keys spread over the stripes (many clients), each on one thread
+ * and on eight contending ones. The limits are loose enough that every check passes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBucketBenchmark {
+  private static final int KEYS = 50_000;
+
+  TokenBucketLimiter limiter;
+  String[] keys;
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+
+    @Setup
+    public void start() {
+      next = ThreadLocalRandom.current().nextInt(KEYS); // threads walk the keys out of step
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    limiter = new TokenBucketLimiter("bench", 1_000_000, Duration.ofNanos(1), 100_000);
+    keys = new String[KEYS];
+    for (int i = 0; i < KEYS; i++) keys[i] = "10.0." + (i >> 8) + "." + (i & 255);
+    for (var key : keys) limiter.tryAcquire(key);
+  }
+
+  @Benchmark
+  public long oneKey() {
+    return limiter.tryAcquire(keys[0]);
+  }
+
+  @Benchmark
+  public long manyKeys(Cursor cursor) {
+    return limiter.tryAcquire(keys[cursor.next = (cursor.next + 31) % KEYS]);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public long oneKeyContended() {
+    return limiter.tryAcquire(keys[0]);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public long manyKeysContended(Cursor cursor) {
+    return limiter.tryAcquire(keys[cursor.next = (cursor.next + 31) % KEYS]);
+  }
+}
@@ -0,0 +1,73 @@
+package com.example.turf.security;
+
+import com.example.turf.user.Role;
+import com.example.turf.user.User;
+import com.example.turf.user.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue at login, and what the JWT filter pays per request: {@link JwtService#verify}
+ * on its own, and {@link AuthenticatedTokenCache#authenticate} on a cache hit and on a miss
+ * (a cache that holds nothing, so every call verifies and loads the user).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+  private static final String EMAIL = "bench@example.com";
+  private static final Map<String, Object> CLAIMS = Map.of(JwtService.ROLES, Set.of(Role.USER), JwtService.USER_ID, 42L);
+
+  JwtService jwt;
+  AuthenticatedTokenCache cached;
+  AuthenticatedTokenCache uncached;
+  String token;
+
+  @Setup
+  public void setUp() {
+    jwt = new JwtService("benchmark-secret-key-that-is-at-least-256-bits-long", 86_400_000);
+    var uds = new UserDetailsServiceImpl(users(User.builder().id(42L).email(EMAIL).roles(Set.of(Role.USER)).build()));
+    var denylist = new TokenDenylist(jwt, true, 86_400_000);
+    cached = new AuthenticatedTokenCache(jwt, uds, denylist, 10_000, Duration.ofMinutes(5));
+    uncached = new AuthenticatedTokenCache(jwt, uds, denylist, 0, Duration.ofMinutes(5));
+    token = jwt.generate(EMAIL, CLAIMS);
+  }
+
+  @Benchmark
+  public String generate() {
+    return jwt.generate(EMAIL, CLAIMS);
+  }
+
+  @Benchmark
+  public Optional<Claims> verify() {
+    return jwt.verify(token);
+  }
+
+  @Benchmark
+  public UserPrincipal authenticateHit() {
+    return cached.authenticate(token);
+  }
+
+  @Benchmark
+  public UserPrincipal authenticateMiss() {
+    return uncached.authenticate(token);
+  }
+
+  private static UserRepository users(User user) {
+    return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+        new Class<?>[] {UserRepository.class}, (proxy, method, args) -> {
+          if (method.getName().equals("findByEmail")) return Optional.of(user).filter(u -> u.getEmail().equals(args[0]));
+          throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
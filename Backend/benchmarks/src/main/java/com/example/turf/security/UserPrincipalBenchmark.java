@@ -0,0 +1,36 @@
+package com.example.turf.security;
+
+import com.example.turf.user.Role;
+import com.example.turf.user.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/** Authorities are rebuilt on every call; method security asks for them on each secured request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserPrincipalBenchmark {
+
+  @Param({"USER", "ADMIN"})
+  String role;
+
+  UserPrincipal principal;
+
+  @Setup
+  public void setUp() {
+    var roles = role.equals("ADMIN") ? EnumSet.allOf(Role.class) : EnumSet.of(Role.USER);
+    principal = new UserPrincipal(User.builder().id(1L).email("bench@example.com").roles(roles).build());
+  }
+
+  @Benchmark
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return principal.getAuthorities();
+  }
+}
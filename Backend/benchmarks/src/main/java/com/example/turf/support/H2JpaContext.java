@@ -0,0 +1,97 @@
+package com.example.turf.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The app's JPA slice on in-memory H2 for benchmarks that need real queries: entities,
+ * repositories and transactions, without web, security or scheduling. The app's
+ * application.yml is not read. Every statement execution and commit is counted as a
+ * round trip and can be delayed, the way a remote Postgres would delay it.
+ */
+@SpringBootConfiguration
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+    TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+@EntityScan("com.example.turf")
+@EnableJpaRepositories("com.example.turf")
+public class H2JpaContext {
+  private static final AtomicLong roundTrips = new AtomicLong();
+  private static volatile long delayNanos;
+
+  public static ConfigurableApplicationContext start() {
+    return new SpringApplicationBuilder(H2JpaContext.class)
+        .web(WebApplicationType.NONE)
+        .bannerMode(Banner.Mode.OFF)
+        .logStartupInfo(false)
+        .properties(
+            "spring.config.name=benchmark",
+            "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.open-in-view=false",
+            "spring.jpa.properties.hibernate.generate_statistics=true",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+            "spring.jpa.properties.hibernate.order_inserts=true",
+            "logging.level.root=warn")
+        .run();
+  }
+
+  /** Statement executions and commits so far. */
+  public static long roundTrips() {
+    return roundTrips.get();
+  }
+
+  public static void delayRoundTrips(Duration delay) {
+    delayNanos = delay.toNanos();
+  }
+
+  @Bean
+  static BeanPostProcessor roundTripCounter() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource ? proxy(DataSource.class, bean) : bean;
+      }
+    };
+  }
+
+  // wraps DataSource -> Connection -> Statement, so only the driver's own calls are counted
+  private static Object proxy(Class<?> type, Object target) {
+    return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (p, method, args) -> {
+      var name = method.getName();
+      if (name.startsWith("execute") || name.equals("commit")) {
+        roundTrips.incrementAndGet();
+        if (delayNanos > 0) LockSupport.parkNanos(delayNanos);
+      }
+      Object result;
+      try {
+        result = method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+      var returns = method.getReturnType();
+      boolean wrap = result != null && (returns == Connection.class || Statement.class.isAssignableFrom(returns));
+      return wrap ? proxy(returns, result) : result;
+    });
+  }
+}
@@ -0,0 +1,41 @@
+package com.example.turf.turf;
+
+import com.example.turf.turf.dto.TurfDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/** Entity-to-DTO mapping of a whole catalog, as done on every catalog cache miss. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurfDtoBenchmark {
+  // mixed case, padding and blanks, the way sport types arrive from the admin UI
+  private static final String[] SPORTS = {"football", " Cricket ", "BADMINTON", "tennis", "Box cricket", "", null};
+
+  @Param({"100", "10000"})
+  int size;
+
+  List<Turf> catalog;
+
+  @Setup
+  public void setUp() {
+    catalog = catalog(size);
+  }
+
+  @Benchmark
+  public List<TurfDTO> mapCatalog() {
+    return catalog.stream().map(TurfDTO::from).toList();
+  }
+
+  static List<Turf> catalog(int size) {
+    return IntStream.range(0, size).mapToObj(i -> Turf.builder()
+        .id((long) i + 1).name("Turf " + i).area("Area " + i % 50)
+        .sportType(SPORTS[i % SPORTS.length]).pricePerSlot(500 + i % 10 * 100).build()).toList();
+  }
+}
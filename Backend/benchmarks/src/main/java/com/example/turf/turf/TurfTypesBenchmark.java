@@ -0,0 +1,53 @@
+package com.example.turf.turf;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TurfService#getTurfTypes}: the cold path maps, normalizes, de-duplicates and
+ * sorts the whole catalog; the warm path is the cached list. The repository is a stub,
+ * so only the in-process work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurfTypesBenchmark {
+
+  @Param({"100", "10000"})
+  int size;
+
+  TurfCatalog catalog;
+  TurfService service;
+
+  @Setup
+  public void setUp() {
+    var turfs = TurfDtoBenchmark.catalog(size);
+    catalog = new TurfCatalog(repository(turfs), 1_000_000);
+    service = new TurfService(null, catalog, null, null);
+  }
+
+  @Benchmark
+  public List<String> cold() {
+    catalog.onTurfChanged(new TurfChangedEvent(0L));
+    return service.getTurfTypes();
+  }
+
+  @Benchmark
+  public List<String> cached() {
+    return service.getTurfTypes();
+  }
+
+  private static TurfRepository repository(List<Turf> turfs) {
+    return (TurfRepository) Proxy.newProxyInstance(TurfRepository.class.getClassLoader(),
+        new Class<?>[] {TurfRepository.class}, (proxy, method, args) -> {
+          if (method.getName().equals("findByActiveTrue")) return turfs;
+          throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
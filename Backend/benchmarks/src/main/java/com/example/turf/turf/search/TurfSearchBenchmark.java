@@ -0,0 +1,65 @@
+package com.example.turf.turf.search;
+
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.turf.dto.TurfSearchResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link TurfSearchIndex#search} over an in-memory catalog: no filters, area and sport
+ * facets, text with a price range, and a two-word prefix match. Every search also
+ * counts all three facets, so this is the whole cost of one search request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurfSearchBenchmark {
+  private static final String[] SPORTS = {"Football", "Cricket", "Futsal", "Tennis", "Badminton", "Basketball"};
+
+  @Param({"2000", "20000"})
+  int size;
+
+  @Param({"all", "facets", "text-and-price", "prefix"})
+  String query;
+
+  TurfSearchIndex index;
+  TurfQuery q;
+
+  @Setup
+  public void setUp() {
+    var turfs = IntStream.range(0, size).mapToObj(i -> Turf.builder()
+        .id((long) i + 1).name("Turf " + i + " " + SPORTS[i % 6] + " Arena").area("Area " + i % 40)
+        .sportType(SPORTS[i % 6]).pricePerSlot(1500 + i % 30 * 100).build()).toList();
+    index = new TurfSearchIndex(repository(turfs), new int[] {2000, 2500, 3000, 3500});
+    index.rebuild();
+    q = switch (query) {
+      case "all" -> new TurfQuery(null, Set.of(), Set.of(), null, null, 50);
+      case "facets" -> new TurfQuery(null, Set.of("Area 7"), Set.of("Football"), null, null, 50);
+      case "text-and-price" -> new TurfQuery("arena", Set.of(), Set.of("Tennis", "Cricket"), 2000, 3000, 50);
+      case "prefix" -> new TurfQuery("turf 12", Set.of(), Set.of(), null, null, 50);
+      default -> throw new IllegalArgumentException(query);
+    };
+  }
+
+  @Benchmark
+  public TurfSearchResult search() {
+    return index.search(q, null);
+  }
+
+  private static TurfRepository repository(List<Turf> turfs) {
+    return (TurfRepository) Proxy.newProxyInstance(TurfRepository.class.getClassLoader(),
+        new Class<?>[] {TurfRepository.class}, (proxy, method, args) -> {
+          if (method.getName().equals("findByActiveTrue")) return turfs;
+          throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
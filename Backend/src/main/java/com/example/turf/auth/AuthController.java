@@ -1,23 +1,47 @@
 package com.example.turf.auth;
 
 import com.example.turf.auth.dto.*;
+import com.example.turf.common.ratelimit.RateLimits;
+import com.example.turf.security.PasswordHashing;
+import com.example.turf.security.TokenDenylist;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController @RequestMapping("/api/auth") @RequiredArgsConstructor
 public class AuthController {
   private final AuthService service;
+  private final TokenDenylist denylist;
+  private final PasswordHashing hashing;
+  private final RateLimits limits;
 
+  // both hash a password: run on the hashing pool and release the servlet thread meanwhile
   @PostMapping("/register")
-  public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest req) {
-    service.register(req);
-    return ResponseEntity.ok().build();
+  public CompletableFuture<ResponseEntity<Void>> register(@Valid @RequestBody RegisterRequest req, HttpServletRequest request) {
+    limits.checkRegister(request);
+    return hashing.submit(() -> {
+      service.register(req);
+      return ResponseEntity.ok().build();
+    });
   }
 
   @PostMapping("/login")
-  public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest req) {
-    return ResponseEntity.ok(new AuthResponse(service.login(req)));
+  public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody AuthRequest req, HttpServletRequest request) {
+    limits.checkLogin(request, req.getEmail());
+    return hashing.submit(() -> ResponseEntity.ok(new AuthResponse(service.login(req))));
+  }
+
+  /** Revokes the presented bearer token for the rest of its lifetime. */
+  @PostMapping("/logout")
+  public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String header) {
+    if (header == null || !header.startsWith("Bearer ") || !denylist.revoke(header.substring(7))) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.noContent().build();
   }
 }
@@ -3,13 +3,15 @@ package com.example.turf.auth;
 import com.example.turf.auth.dto.*;
 import com.example.turf.security.JwtService;
 import com.example.turf.user.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.Map;
-  import java.util.Set;
+import java.util.Set;
 
+@Timed(value = "auth.service", histogram = true)
 @Service @RequiredArgsConstructor
 public class AuthService {
   private final UserRepository users;
@@ -17,7 +19,7 @@ public class AuthService {
   private final JwtService jwt;
 
   public void register(RegisterRequest r) {
-    if (users.existsByEmail(r.getEmail())) throw new IllegalArgumentException("Email already in use");
+    if (users.existsByEmail(r.getEmail())) throw new DuplicateEmailException();
     var user = User.builder()
         .fullName(r.getFullName())
         .email(r.getEmail())
@@ -31,6 +33,9 @@ public class AuthService {
   public String login(AuthRequest req) {
     var user = users.findByEmail(req.getEmail()).orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
     if (!encoder.matches(req.getPassword(), user.getPasswordHash())) throw new IllegalArgumentException("Invalid credentials");
-    return jwt.generate(user.getEmail(), Map.of("roles", user.getRoles()));
+    if (encoder.upgradeEncoding(user.getPasswordHash())) {
+      users.updatePasswordHash(user.getId(), encoder.encode(req.getPassword()));
+    }
+    return jwt.generate(user.getEmail(), Map.of(JwtService.ROLES, user.getRoles(), JwtService.USER_ID, user.getId()));
   }
 }
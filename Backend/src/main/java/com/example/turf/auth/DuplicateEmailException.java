@@ -0,0 +1,8 @@
+package com.example.turf.auth;
+
+/** Registration with an email that already has an account; surfaced as 409. */
+public class DuplicateEmailException extends IllegalArgumentException {
+  public DuplicateEmailException() {
+    super("Email already in use");
+  }
+}
@@ -13,17 +13,25 @@ import java.time.LocalDate;
 @Entity
 @Table(
   name = "bookings",
-  uniqueConstraints = @UniqueConstraint(
-    name = "uk_turf_date_time",
-    columnNames = {"turf_id", "booking_date", "booking_time"}
-  ),
+  uniqueConstraints = {
+    // live is NULL on cancelled rows and NULLs never collide, so only active bookings are unique per slot
+    @UniqueConstraint(name = "uk_turf_date_time_live", columnNames = {"turf_id", "booking_date", "booking_time", "live"}),
+    @UniqueConstraint(name = "uk_booking_confirmation_ref", columnNames = "confirmation_ref")
+  },
   indexes = {
-    @Index(name="idx_booking_turf_date", columnList="turf_id, booking_date")
+    // availability probes: seeks past cancelled rows on live and covers every column they read, so they stay index-only
+    @Index(name="idx_booking_live_slot", columnList="turf_id, booking_date, live, slot_start, slot_end, booking_time"),
+    // keyset pagination of history: (booking_date, id) overall and per user
+    @Index(name="idx_booking_date_id", columnList="booking_date, id"),
+    @Index(name="idx_booking_user_date_id", columnList="user_id, booking_date, id")
   }
 )
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Booking {
-  @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+  /** Pooled sequence (not IDENTITY) so inserts can be JDBC-batched; see IdSequenceAligner. */
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+  @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
   private Long id;
 
   @ManyToOne(optional=false, fetch = FetchType.LAZY)
@@ -43,13 +51,39 @@ public class Booking {
   @Column(name="booking_time", nullable=false, length=20)
   private String bookingTime;
 
+  /** Typed form of bookingTime as minutes of day, [slotStart, slotEnd); null only on unmigrated legacy rows. */
+  @Column(name="slot_start")
+  private Integer slotStart;
+
+  @Column(name="slot_end")
+  private Integer slotEnd;
+
   @Enumerated(EnumType.STRING)
   @Column(nullable=false, length=20)
   private BookingStatus status;
 
-  @Column(nullable=false, unique=true, length=36)
+  /** Random UUID code of bookings made before {@link #confirmationRef}; null on newer rows. */
+  @Column(unique=true, length=36)
   private String confirmationCode;
 
+  /** Compact, time-ordered confirmation code (see {@link ConfirmationCode}). */
+  @Column(name="confirmation_ref")
+  private Long confirmationRef;
+
   @Column(nullable=false)
   private Instant createdAt;
+
+  /** TRUE while the booking holds its slot, NULL once cancelled; derived from {@link #status}. */
+  @Column(name="live")
+  private Boolean live;
+
+  @PrePersist @PreUpdate
+  void syncLive() {
+    live = status == BookingStatus.BOOKED ? Boolean.TRUE : null;
+  }
+
+  /** The code shown to the customer, whichever format the booking was issued with. */
+  public String displayCode() {
+    return confirmationRef != null ? new ConfirmationCode(confirmationRef).toString() : confirmationCode;
+  }
 }
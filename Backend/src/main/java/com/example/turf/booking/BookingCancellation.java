@@ -0,0 +1,48 @@
+package com.example.turf.booking;
+
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.outbox.BookingOutbox;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+
+/**
+ * Cancels bookings in place: the row stays in history as CANCELLED, and clearing its
+ * live marker takes it out of uk_turf_date_time_live and every availability query.
+ * The occupancy index and confirmation lookup are updated as soon as the cancel
+ * commits, so the slot can be booked again straight away. The CANCELLED event goes
+ * into the outbox in the cancelling transaction.
+ */
+@Timed(value = "booking.cancellation", histogram = true)
+@Service @RequiredArgsConstructor
+public class BookingCancellation {
+  public enum Outcome { CANCELLED, NOT_FOUND, FORBIDDEN, ALREADY_CANCELLED }
+
+  private final BookingRepository bookings;
+  private final OccupancyIndex occupancy;
+  private final ConfirmationLookup lookup;
+  private final TransactionTemplate tx;
+  private final BookingOutbox outbox;
+
+  /** Owners may cancel their own bookings, admins anyone's. */
+  public Outcome cancel(Long bookingId, Long actorId, boolean admin) {
+    var booking = bookings.findViewById(bookingId).orElse(null);
+    if (booking == null) return Outcome.NOT_FOUND;
+    if (!admin && !Objects.equals(booking.userId(), actorId)) return Outcome.FORBIDDEN;
+    if (booking.status() == BookingStatus.CANCELLED) return Outcome.ALREADY_CANCELLED;
+
+    boolean cancelled = Boolean.TRUE.equals(tx.execute(status -> {
+      // conditional on live, so of two concurrent cancels only one releases the slot
+      if (bookings.cancel(bookingId) == 0) return false;
+      outbox.cancelled(booking);
+      occupancy.releaseAfterCommit(booking.turfId(), booking.bookingDate(), booking.timeSlot());
+      return true;
+    }));
+    if (!cancelled) return Outcome.ALREADY_CANCELLED;
+    lookup.evict(booking.confirmationCode());
+    return Outcome.CANCELLED;
+  }
+}
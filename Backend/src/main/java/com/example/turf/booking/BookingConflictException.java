@@ -0,0 +1,8 @@
+package com.example.turf.booking;
+
+/** The requested slot is already booked or being booked; surfaced as 409. */
+public class BookingConflictException extends RuntimeException {
+  public BookingConflictException(String message) {
+    super(message);
+  }
+}
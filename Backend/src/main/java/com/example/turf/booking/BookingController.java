@@ -1,23 +1,151 @@
 package com.example.turf.booking;
 
+import com.example.turf.booking.dto.BookingCursor;
+import com.example.turf.booking.dto.BookingLookupResponse;
+import com.example.turf.booking.dto.BookingPage;
 import com.example.turf.booking.dto.BookingRequest;
 import com.example.turf.booking.dto.BookingResponse;
+import com.example.turf.booking.dto.BulkBookingRequest;
+import com.example.turf.booking.dto.BulkBookingResponse;
+import com.example.turf.booking.dto.HoldResponse;
+import com.example.turf.common.ratelimit.RateLimits;
+import com.example.turf.security.UserPrincipal;
+import com.example.turf.user.Role;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Locale;
 
 @RestController @RequestMapping("/api/bookings") @RequiredArgsConstructor
 public class BookingController {
   private final BookingService service;
+  private final BookingCancellation cancellation;
+  private final BookingHistory history;
+  private final ConfirmationLookup lookup;
+  private final RateLimits limits;
 
   // Matches ApiService.bookTurf(turfId, userId, booking)
   @PostMapping("/book-turf/{turfId}/{userId}")
   public ResponseEntity<BookingResponse> book(
       @PathVariable Long turfId,
       @PathVariable Long userId,
-      @Valid @RequestBody BookingRequest req) {
+      @Valid @RequestBody BookingRequest req,
+      HttpServletRequest request) {
+    limits.checkBooking(request);
     var resp = service.book(turfId, userId, req);
     return ResponseEntity.ok(resp);
   }
+
+  /** Books a season of slots in one call; per-slot results, 409 if nothing could be booked. */
+  @PostMapping("/book-turf-bulk/{turfId}/{userId}")
+  public ResponseEntity<BulkBookingResponse> bookAll(
+      @PathVariable Long turfId,
+      @PathVariable Long userId,
+      @Valid @RequestBody BulkBookingRequest req,
+      HttpServletRequest request) {
+    limits.checkBooking(request);
+    var resp = service.bookAll(turfId, userId, req);
+    return ResponseEntity.status(resp.statusCode()).body(resp);
+  }
+
+  /**
+   * Checkout flow: hold the slot for a few minutes, then confirm or release it. Holds
+   * belong to the signed-in user; an unknown or inactive turf or a past date is a 400.
+   */
+  @PreAuthorize("isAuthenticated()")
+  @PostMapping("/hold-slot/{turfId}")
+  public ResponseEntity<HoldResponse> hold(
+      @PathVariable Long turfId,
+      @Valid @RequestBody BookingRequest req,
+      @AuthenticationPrincipal UserPrincipal me,
+      HttpServletRequest request) {
+    limits.checkBooking(request);
+    try {
+      return ResponseEntity.ok(service.hold(turfId, me.user().getId(), req));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @PreAuthorize("isAuthenticated()")
+  @PostMapping("/confirm-hold/{holdId}")
+  public ResponseEntity<BookingResponse> confirmHold(@PathVariable String holdId, @AuthenticationPrincipal UserPrincipal me,
+                                                     HttpServletRequest request) {
+    limits.checkBooking(request);
+    return ResponseEntity.ok(service.confirmHold(holdId, me.user().getId()));
+  }
+
+  @PreAuthorize("isAuthenticated()")
+  @DeleteMapping("/release-hold/{holdId}")
+  public ResponseEntity<Void> releaseHold(@PathVariable String holdId, @AuthenticationPrincipal UserPrincipal me,
+                                          HttpServletRequest request) {
+    limits.checkBooking(request);
+    service.releaseHold(holdId, me.user().getId());
+    return ResponseEntity.ok().build();
+  }
+
+  // Matches ApiService.cancelBooking(bookingId); own bookings, or anyone's for admins
+  @PreAuthorize("isAuthenticated()")
+  @DeleteMapping("/cancel/{bookingId}")
+  public ResponseEntity<BookingResponse> cancel(@PathVariable Long bookingId, @AuthenticationPrincipal UserPrincipal me) {
+    boolean admin = me.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_" + Role.ADMIN.name()));
+    return switch (cancellation.cancel(bookingId, me.user().getId(), admin)) {
+      case CANCELLED -> ResponseEntity.ok(new BookingResponse(200, bookingId, null));
+      case NOT_FOUND -> ResponseEntity.notFound().build();
+      case FORBIDDEN -> ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+      case ALREADY_CANCELLED -> ResponseEntity.status(HttpStatus.CONFLICT).build();
+    };
+  }
+
+  // Matches ApiService.getBookingByConfirmationCode (front-desk check-in)
+  @GetMapping("/get-by-confirmation-code/{code}")
+  public ResponseEntity<BookingLookupResponse> byConfirmationCode(@PathVariable String code, HttpServletRequest request) {
+    limits.checkBooking(request);
+    if (!ConfirmationLookup.isWellFormed(code)) return ResponseEntity.badRequest().build();
+    return lookup.find(code)
+        .map(b -> ResponseEntity.ok(new BookingLookupResponse(200, b)))
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  // Matches ApiService.getAllBookings; page on with ?cursor=<nextCursor>
+  @PreAuthorize("hasRole('ADMIN')")
+  @GetMapping("/all")
+  public ResponseEntity<BookingPage> all(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int limit) {
+    var after = BookingCursor.decode(cursor);
+    if (after == null || limit < 1 || limit > BookingHistory.MAX_PAGE) return ResponseEntity.badRequest().build();
+    return ResponseEntity.ok(history.all(after, limit));
+  }
+
+  /** Admin export of bookings dated in [from, to] as NDJSON or CSV, streamed. */
+  @PreAuthorize("hasRole('ADMIN')")
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export(
+      @RequestParam(defaultValue = "ndjson") String format,
+      @RequestParam(defaultValue = "1970-01-01") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(defaultValue = "9999-12-31") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    BookingHistory.Format f;
+    try {
+      f = BookingHistory.Format.valueOf(format.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+    var type = f == BookingHistory.Format.CSV ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson");
+    return ResponseEntity.ok()
+        .contentType(type)
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=bookings." + f.name().toLowerCase(Locale.ROOT))
+        .body(out -> history.export(f, from, to, out));
+  }
 }
@@ -0,0 +1,175 @@
+package com.example.turf.booking;
+
+import com.example.turf.booking.archive.ArchivedBookingRepository;
+import com.example.turf.booking.archive.BookingArchiver;
+import com.example.turf.booking.dto.BookingCursor;
+import com.example.turf.booking.dto.BookingPage;
+import com.example.turf.booking.dto.BookingView;
+import com.example.turf.user.UserRepository;
+import com.example.turf.user.dto.UserBookingsResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Booking listings. Pages seek past a {@link BookingCursor} instead of counting an
+ * offset, so page N costs the same as page 1; exports stream rows from the database
+ * cursor straight to the response. Both read {@link BookingView} projections, so no
+ * entity, turf or user is ever loaded.
+ *
+ * <p>History spans the live table and bookings_archive. The archive is read after
+ * the live table (a row moved in between shows up in both, never in neither) and
+ * only when the page can reach back past the archive cutoff.
+ */
+@Service @RequiredArgsConstructor
+public class BookingHistory {
+  public enum Format { NDJSON, CSV }
+
+  public static final int MAX_PAGE = 100;
+  private static final int FLUSH_EVERY = 500;
+
+  private static final Comparator<BookingView> OLDEST_FIRST =
+      Comparator.comparing(BookingView::bookingDate).thenComparing(BookingView::id);
+
+  private final BookingRepository bookings;
+  private final ArchivedBookingRepository archived;
+  private final BookingArchiver archiver;
+  private final UserRepository users;
+  private final ObjectMapper mapper;
+  private final TransactionTemplate tx;
+
+  public BookingPage all(BookingCursor after, int limit) {
+    var hot = bookings.findHistory(after.bookingDate(), after.id(), Limit.of(limit + 1));
+    return page(withArchive(hot, limit, () -> archived.findHistory(after.bookingDate(), after.id(), Limit.of(limit + 1))), limit);
+  }
+
+  public Optional<UserBookingsResponse> ofUser(Long userId, BookingCursor after, int limit) {
+    return users.findSummary(userId).map(user -> {
+      var hot = bookings.findHistoryOfUser(userId, after.bookingDate(), after.id(), Limit.of(limit + 1));
+      var page = page(withArchive(hot, limit,
+          () -> archived.findHistoryOfUser(userId, after.bookingDate(), after.id(), Limit.of(limit + 1))), limit);
+      var body = new UserBookingsResponse.UserWithBookings(user.id(), user.name(), user.email(), page.bookingList());
+      return new UserBookingsResponse(200, body, page.nextCursor());
+    });
+  }
+
+  /** Writes every booking with a date in [from, to]; memory use doesn't grow with the row count. */
+  public void export(Format format, LocalDate from, LocalDate to, OutputStream out) {
+    tx.executeWithoutResult(status -> {
+      status.setRollbackOnly();
+      try (var hot = bookings.streamForExport(from, to);
+           var cold = from.isBefore(archiver.cutoff()) ? archived.streamForExport(from, to) : Stream.<BookingView>empty()) {
+        var rows = merge(hot.iterator(), cold.iterator());
+        if (format == Format.CSV) writeCsv(rows, out); else writeNdjson(rows, out);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  /**
+   * Merges the archive's page into the live one, newest first. Archived rows all predate
+   * the cutoff, so a full live page that ends at or after it can't be displaced by them.
+   */
+  private List<BookingView> withArchive(List<BookingView> hot, int limit, Supplier<List<BookingView>> cold) {
+    if (hot.size() > limit && !hot.get(limit).bookingDate().isBefore(archiver.cutoff())) return hot;
+    var archivedRows = cold.get();
+    if (archivedRows.isEmpty()) return hot;
+    var ids = new HashSet<Long>();
+    return Stream.concat(hot.stream(), archivedRows.stream())
+        .filter(b -> ids.add(b.id()))
+        .sorted(OLDEST_FIRST.reversed())
+        .toList();
+  }
+
+  /** Interleaves two oldest-first cursors into one, dropping a row seen in both. */
+  private static Iterator<BookingView> merge(Iterator<BookingView> a, Iterator<BookingView> b) {
+    return new Iterator<>() {
+      BookingView x = a.hasNext() ? a.next() : null;
+      BookingView y = b.hasNext() ? b.next() : null;
+
+      @Override public boolean hasNext() {
+        return x != null || y != null;
+      }
+
+      @Override public BookingView next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        int c = x == null ? 1 : y == null ? -1 : OLDEST_FIRST.compare(x, y);
+        var row = c <= 0 ? x : y;
+        if (c <= 0) x = a.hasNext() ? a.next() : null;
+        if (c >= 0) y = b.hasNext() ? b.next() : null;
+        return row;
+      }
+    };
+  }
+
+  // one row past the limit tells whether there is a next page without a count query
+  private static BookingPage page(List<BookingView> rows, int limit) {
+    if (rows.size() <= limit) return new BookingPage(200, rows, null);
+    var page = rows.subList(0, limit);
+    return new BookingPage(200, List.copyOf(page), BookingCursor.after(page.get(limit - 1)).encode());
+  }
+
+  private void writeNdjson(Iterator<BookingView> rows, OutputStream out) throws IOException {
+    int n = 0;
+    try (var json = mapper.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+         var values = mapper.writer().withRootValueSeparator("\n").writeValues(json)) {
+      while (rows.hasNext()) {
+        values.write(rows.next());
+        if (++n % FLUSH_EVERY == 0) values.flush();
+      }
+    }
+    if (n > 0) out.write('\n');
+    out.flush();
+  }
+
+  private static final List<Function<BookingView, Object>> CSV_COLUMNS = List.of(
+      BookingView::id, BookingView::confirmationCode, BookingView::bookingDate, BookingView::timeSlot,
+      BookingView::status, BookingView::createdAt, BookingView::turfId, BookingView::turfName,
+      BookingView::sportType, BookingView::userId, BookingView::userName, BookingView::userEmail);
+
+  private static void writeCsv(Iterator<BookingView> rows, OutputStream out) throws IOException {
+    var w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    w.write("id,confirmationCode,bookingDate,timeSlot,status,createdAt,turfId,turfName,sportType,userId,userName,userEmail\n");
+    int n = 0;
+    while (rows.hasNext()) {
+      var row = rows.next();
+      for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+        if (i > 0) w.write(',');
+        w.write(csv(CSV_COLUMNS.get(i).apply(row)));
+      }
+      w.write('\n');
+      if (++n % FLUSH_EVERY == 0) w.flush();
+    }
+    w.flush();
+  }
+
+  private static String csv(Object value) {
+    if (value == null) return "";
+    var s = value.toString();
+    // user-entered text opened in a spreadsheet must not be read as a formula
+    if (!s.isEmpty() && "=+-@".indexOf(s.charAt(0)) >= 0 && !(value instanceof Number)) s = "'" + s;
+    if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+    return '"' + s.replace("\"", "\"\"") + '"';
+  }
+}
@@ -1,8 +1,103 @@
 package com.example.turf.booking;
 
+import com.example.turf.booking.dto.BookedSlot;
+import com.example.turf.booking.dto.BookingView;
+import com.example.turf.booking.dto.CheckInView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-  boolean existsByTurfIdAndBookingDateAndBookingTime(Long turfId, LocalDate date, String time);
+  String VIEW = """
+      select new com.example.turf.booking.dto.BookingView(b.id, b.confirmationCode, b.confirmationRef, b.bookingDate, b.bookingTime,
+          b.status, b.createdAt, t.id, t.name, t.sportType, u.id, u.fullName, u.email)
+      from Booking b join b.turf t left join b.user u
+      """;
+  String CHECK_IN = """
+      select new com.example.turf.booking.dto.CheckInView(b.id, b.confirmationCode, b.confirmationRef, b.bookingDate, b.bookingTime,
+          b.status, b.createdAt, t.id, t.name, t.sportType)
+      from Booking b join b.turf t
+      """;
+
+  boolean existsByTurfIdAndBookingDateAndBookingTimeAndLiveTrue(Long turfId, LocalDate date, String time);
+
+  @Query("""
+      select new com.example.turf.booking.dto.BookedSlot(b.turf.id, b.bookingDate, b.bookingTime, b.slotStart, b.slotEnd)
+      from Booking b
+      where b.bookingDate between :from and :to and b.live = true""")
+  List<BookedSlot> findBookedSlots(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Query("""
+      select new com.example.turf.booking.dto.BookedSlot(b.turf.id, b.bookingDate, b.bookingTime, b.slotStart, b.slotEnd)
+      from Booking b
+      where b.turf.id = :turfId and b.bookingDate in :dates and b.live = true""")
+  List<BookedSlot> findBookedSlotsOfTurf(@Param("turfId") Long turfId, @Param("dates") Collection<LocalDate> dates);
+
+  /** Bookings of several turfs over a date range, in (turf, date) order, streamed from the cursor. */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("""
+      select new com.example.turf.booking.dto.BookedSlot(b.turf.id, b.bookingDate, b.bookingTime, b.slotStart, b.slotEnd)
+      from Booking b
+      where b.turf.id in :turfIds and b.bookingDate between :from and :to and b.live = true
+      order by b.turf.id, b.bookingDate""")
+  Stream<BookedSlot> streamBookedSlots(@Param("turfIds") Collection<Long> turfIds,
+                                       @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  /** Any active booking whose range overlaps [start, end); an index-only range scan on idx_booking_live_slot. */
+  @Query("""
+      select count(b) > 0 from Booking b
+      where b.turf.id = :turfId and b.bookingDate = :date and b.live = true
+        and b.slotStart < :end and b.slotEnd > :start""")
+  boolean existsOverlapping(@Param("turfId") Long turfId, @Param("date") LocalDate date,
+                            @Param("start") int start, @Param("end") int end);
+
+  /** History page after the cursor, newest booking date first (seeks idx_booking_date_id). */
+  @Query(VIEW + """
+      where b.bookingDate < :date or (b.bookingDate = :date and b.id < :id)
+      order by b.bookingDate desc, b.id desc""")
+  List<BookingView> findHistory(@Param("date") LocalDate date, @Param("id") long id, Limit limit);
+
+  /** One user's history page after the cursor (seeks idx_booking_user_date_id). */
+  @Query(VIEW + """
+      where u.id = :userId and (b.bookingDate < :date or (b.bookingDate = :date and b.id < :id))
+      order by b.bookingDate desc, b.id desc""")
+  List<BookingView> findHistoryOfUser(@Param("userId") Long userId, @Param("date") LocalDate date,
+                                      @Param("id") long id, Limit limit);
+
+  /** Every booking in a date range, oldest first, read through a cursor for exports. */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(VIEW + """
+      where b.bookingDate between :from and :to
+      order by b.bookingDate, b.id""")
+  Stream<BookingView> streamForExport(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Query(CHECK_IN + "where b.confirmationRef = :ref")
+  Optional<CheckInView> findCheckInByConfirmationRef(@Param("ref") long ref);
+
+  @Query(CHECK_IN + "where b.confirmationCode = :code")
+  Optional<CheckInView> findCheckInByLegacyCode(@Param("code") String code);
+
+  @Query(VIEW + "where b.id = :id")
+  Optional<BookingView> findViewById(@Param("id") Long id);
+
+  /**
+   * Cancels an active booking in place; returns 0 if it was already cancelled by a
+   * concurrent request. Clearing live frees the slot for uk_turf_date_time_live.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("""
+      update Booking b set b.status = com.example.turf.booking.BookingStatus.CANCELLED, b.live = null
+      where b.id = :id and b.live = true""")
+  int cancel(@Param("id") Long id);
 }
@@ -0,0 +1,113 @@
+package com.example.turf.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Idempotent upgrades of existing bookings data that ddl-auto=update can't express.
+ * Schema fixes run before the app serves traffic; row backfills run in small
+ * auto-committed batches once it is up, so no long locks are taken.
+ */
+@Slf4j
+@Component
+public class BookingSchemaMigration implements InitializingBean {
+  static final int BATCH = 500;
+  /** Postgres exclusion constraint: live bookings of one turf and date never overlap. */
+  static final String OVERLAP_EXCLUSION = "ex_booking_live_overlap";
+
+  private record LegacySlot(long id, String bookingTime) {}
+
+  private final JdbcTemplate jdbc;
+  private final Dialect dialect;
+
+  /** The EntityManagerFactory dependency makes this run after Hibernate has updated the schema. */
+  public BookingSchemaMigration(JdbcTemplate jdbc, EntityManagerFactory emf) {
+    this.jdbc = jdbc;
+    this.dialect = emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    // superseded by idx_booking_live_slot, which has the same leading columns
+    jdbc.execute("drop index if exists idx_booking_turf_date");
+    jdbc.execute("drop index if exists idx_booking_turf_date_slot");
+    // new bookings carry confirmation_ref instead; the UUID column only holds legacy codes
+    jdbc.execute("alter table bookings alter column confirmation_code drop not null");
+    // replaced by uk_turf_date_time_live, which lets a cancelled slot be booked again
+    jdbc.execute("alter table bookings drop constraint if exists uk_turf_date_time");
+    backfillLive();
+  }
+
+  /**
+   * Marks pre-existing active bookings live. Runs before serving, in short batches,
+   * because availability checks ignore rows without the marker.
+   */
+  int backfillLive() {
+    int updated = 0;
+    int n;
+    do {
+      n = jdbc.update("""
+          update bookings set live = true where id in (
+            select id from bookings where live is null and status = 'BOOKED' order by id limit %d)""".formatted(BATCH));
+      updated += n;
+    } while (n > 0);
+    if (updated > 0) log.info("Marked {} existing bookings live", updated);
+    return updated;
+  }
+
+  /** Fills slot_start/slot_end from booking_time; rows that don't parse stay string-only. */
+  @EventListener(ApplicationReadyEvent.class)
+  public int backfillSlots() {
+    int updated = 0;
+    long after = 0;
+    while (true) {
+      var rows = jdbc.query(
+          "select id, booking_time from bookings where slot_start is null and id > ? order by id limit " + BATCH,
+          (rs, n) -> new LegacySlot(rs.getLong(1), rs.getString(2)), after);
+      if (rows.isEmpty()) break;
+      after = rows.get(rows.size() - 1).id();
+      var args = rows.stream()
+          .flatMap(r -> TimeSlot.tryParse(r.bookingTime()).stream()
+              .map(slot -> new Object[] {slot.startMinute(), slot.endMinute(), r.id()}))
+          .toList();
+      if (!args.isEmpty()) jdbc.batchUpdate("update bookings set slot_start = ?, slot_end = ? where id = ?", args);
+      updated += args.size();
+    }
+    if (updated > 0) log.info("Backfilled slot_start/slot_end on {} bookings", updated);
+    addOverlapExclusion();
+    return updated;
+  }
+
+  /**
+   * Lets Postgres reject partial overlaps between instances, which the unique constraint
+   * only does for identical slot strings. Added once slot_start/slot_end are backfilled;
+   * if legacy rows already overlap it is left off and the range probe remains the guard.
+   * H2 has no exclusion constraints, so tests rely on the probe alone.
+   */
+  void addOverlapExclusion() {
+    if (!(dialect instanceof PostgreSQLDialect)) return;
+    if (Boolean.TRUE.equals(jdbc.queryForObject(
+        "select exists (select 1 from pg_constraint where conname = ?)", Boolean.class, OVERLAP_EXCLUSION))) {
+      return;
+    }
+    try {
+      jdbc.execute("create extension if not exists btree_gist");
+      jdbc.execute("""
+          alter table bookings add constraint %s exclude using gist (
+            turf_id with =, booking_date with =, int4range(slot_start, slot_end) with &&)
+          where (live and slot_start is not null)""".formatted(OVERLAP_EXCLUSION));
+      log.info("Added {} on bookings", OVERLAP_EXCLUSION);
+    } catch (DataAccessException e) {
+      log.warn("Could not add {}; overlaps between instances are only probed for", OVERLAP_EXCLUSION, e);
+    }
+  }
+}
@@ -1,44 +1,229 @@
 package com.example.turf.booking;
 
 import com.example.turf.booking.dto.BookingRequest;
+import com.example.turf.booking.dto.BookedSlot;
 import com.example.turf.booking.dto.BookingResponse;
+import com.example.turf.booking.dto.BulkBookingRequest;
+import com.example.turf.booking.dto.BulkBookingResponse;
+import com.example.turf.booking.dto.BulkBookingResponse.SlotResult;
+import com.example.turf.booking.dto.BulkBookingResponse.Status;
+import com.example.turf.booking.dto.HoldResponse;
+import com.example.turf.booking.hold.SlotHoldService;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.occupancy.SlotAdmission;
+import com.example.turf.booking.occupancy.SlotGrid;
+import com.example.turf.booking.outbox.BookingOutbox;
 import com.example.turf.turf.Turf;
 import com.example.turf.turf.TurfRepository;
+import com.example.turf.user.User;
 import com.example.turf.user.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
+@Timed(value = "booking.service", histogram = true)
 @Service @RequiredArgsConstructor
 public class BookingService {
+  private static final String SLOT_CONSTRAINT = "uk_turf_date_time";
+
   private final BookingRepository bookings;
   private final TurfRepository turfs;
   private final UserRepository users;
+  private final OccupancyIndex occupancy;
+  private final SlotAdmission admission;
+  private final SlotHoldService holds;
+  private final TransactionTemplate tx;
+  private final BookingOutbox outbox;
 
-  @Transactional
+  /**
+   * Claims the slot in-process first, so concurrent requests for the same slot fail
+   * fast without a connection; the winner probes for overlaps written elsewhere and
+   * inserts, and uk_turf_date_time_live decides identical slots.
+   */
   public BookingResponse book(Long turfId, Long userId, BookingRequest req) {
+    try (var claim = admission.claim(turfId, req.bookingDate(), req.timeslot())) {
+      return tx.execute(status -> insert(turfId, userId, req));
+    }
+  }
+
+  /**
+   * Books many slots of one turf at once: in-process claims first, then one
+   * occupancy query and one batched insert in a single transaction. If another
+   * instance wins a slot between the query and the insert, the whole attempt
+   * rolls back and is retried once against fresh occupancy.
+   */
+  public BulkBookingResponse bookAll(Long turfId, Long userId, BulkBookingRequest req) {
+    var mode = req.mode() == null ? BulkBookingRequest.Mode.ALL_OR_NOTHING : req.mode();
+    var slots = req.slots();
+    var results = new SlotResult[slots.size()];
+    var claims = new ArrayList<SlotAdmission.Claim>();
+    try {
+      var pending = new ArrayList<Integer>();
+      for (int i = 0; i < slots.size(); i++) {
+        var slot = slots.get(i);
+        if (clashes(slot, slots.subList(0, i).stream()
+            .map(s -> new BookedSlot(turfId, s.bookingDate(), s.timeslot())).toList())) {
+          results[i] = SlotResult.of(slot, Status.CONFLICT);
+          continue;
+        }
+        try {
+          claims.add(admission.claim(turfId, slot.bookingDate(), slot.timeslot()));
+          pending.add(i);
+        } catch (BookingConflictException e) {
+          results[i] = SlotResult.of(slot, Status.CONFLICT);
+        }
+      }
+      if (mode == BulkBookingRequest.Mode.ALL_OR_NOTHING && pending.size() < slots.size()) {
+        pending.forEach(i -> results[i] = SlotResult.of(slots.get(i), Status.SKIPPED));
+      } else if (!pending.isEmpty()) {
+        insertAllWithRetry(turfId, userId, slots, pending, results, mode);
+      }
+    } finally {
+      claims.forEach(SlotAdmission.Claim::close);
+    }
+    boolean booked = Arrays.stream(results).allMatch(r -> r.status() == Status.BOOKED);
+    boolean rejected = Arrays.stream(results).noneMatch(r -> r.status() == Status.BOOKED);
+    return new BulkBookingResponse(booked || !rejected ? 200 : 409, List.of(results));
+  }
+
+  private void insertAllWithRetry(Long turfId, Long userId, List<BookingRequest> slots, List<Integer> pending,
+                                  SlotResult[] results, BulkBookingRequest.Mode mode) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        tx.executeWithoutResult(status -> insertAll(turfId, userId, slots, pending, results, mode));
+        return;
+      } catch (DataIntegrityViolationException e) {
+        if (!slotTaken(e)) throw e;
+        if (attempt == 2) throw new BookingConflictException(SlotAdmission.TAKEN);
+      }
+    }
+  }
+
+  private void insertAll(Long turfId, Long userId, List<BookingRequest> slots, List<Integer> pending,
+                         SlotResult[] results, BulkBookingRequest.Mode mode) {
+    Turf turf = turfs.findById(turfId).orElseThrow(() -> new IllegalArgumentException("Turf not found"));
+    var user = users.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+    var dates = pending.stream().map(i -> slots.get(i).bookingDate()).collect(Collectors.toSet());
+    var taken = bookings.findBookedSlotsOfTurf(turfId, dates);
+    var free = new ArrayList<Integer>();
+    for (int i : pending) {
+      if (clashes(slots.get(i), taken)) results[i] = SlotResult.of(slots.get(i), Status.CONFLICT);
+      else free.add(i);
+    }
+    if (mode == BulkBookingRequest.Mode.ALL_OR_NOTHING && free.size() < pending.size()) {
+      free.forEach(i -> results[i] = SlotResult.of(slots.get(i), Status.SKIPPED));
+      return;
+    }
+
+    var saved = bookings.saveAll(free.stream().map(i -> newBooking(turf, user, slots.get(i))).toList());
+    bookings.flush();
+    outbox.booked(saved);
+    for (int n = 0; n < saved.size(); n++) {
+      var b = saved.get(n);
+      results[free.get(n)] = new SlotResult(b.getBookingDate(), b.getBookingTime(), Status.BOOKED,
+          b.getId(), b.displayCode());
+      occupancy.markBookedAfterCommit(turfId, b.getBookingDate(), b.getBookingTime());
+    }
+  }
+
+  /** Same slot string, or overlapping grid cells, on the same date. */
+  private static boolean clashes(BookingRequest slot, List<BookedSlot> taken) {
+    long mask = SlotGrid.mask(slot.timeslot());
+    return taken.stream().anyMatch(b -> b.bookingDate().equals(slot.bookingDate())
+        && (b.bookingTime().equals(slot.timeslot()) || (mask & b.mask()) != 0));
+  }
+
+  /** Only bookable turfs and known users can hold; SlotHoldService checks the date and limits. */
+  public HoldResponse hold(Long turfId, Long userId, BookingRequest req) {
+    if (!turfs.findById(turfId).map(Turf::isActive).orElse(false)) throw new IllegalArgumentException("Turf not found");
+    if (!users.existsById(userId)) throw new IllegalArgumentException("User not found");
+    var hold = holds.hold(turfId, userId, req.bookingDate(), req.timeslot());
+    return new HoldResponse(200, hold.id(), hold.expiresAt());
+  }
+
+  /**
+   * Promotes a live hold. Its claim keeps other writers on this instance out, but not
+   * other instances, so the slot is checked again like any booking.
+   */
+  public BookingResponse confirmHold(String holdId, Long userId) {
+    var hold = holds.take(holdId, userId);
+    try (var claim = hold.claim()) {
+      var req = new BookingRequest(hold.bookingDate(), hold.timeslot());
+      return tx.execute(status -> insert(hold.turfId(), userId, req));
+    }
+  }
+
+  public void releaseHold(String holdId, Long userId) {
+    holds.release(holdId, userId);
+  }
+
+  /**
+   * Identical live slots are rejected by uk_turf_date_time_live. Admission only knows
+   * this instance's bookings, so partial overlaps are always checked with one range
+   * probe in the write transaction; on Postgres, ex_booking_live_overlap settles races
+   * between instances that both passed it.
+   */
+  private BookingResponse insert(Long turfId, Long userId, BookingRequest req) {
     Turf turf = turfs.findById(turfId).orElseThrow(() -> new IllegalArgumentException("Turf not found"));
     var user = users.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
+    var slot = TimeSlot.parse(req.timeslot());
+    if (bookings.existsOverlapping(turfId, req.bookingDate(), slot.startMinute(), slot.endMinute())) {
+      throw new BookingConflictException(SlotAdmission.TAKEN);
+    }
+
+    Booking saved;
+    try {
+      saved = bookings.saveAndFlush(newBooking(turf, user, req));
+    } catch (DataIntegrityViolationException e) {
+      if (!slotTaken(e)) throw e;
+      throw new BookingConflictException(SlotAdmission.TAKEN);
+    }
+    outbox.booked(List.of(saved));
+    occupancy.markBookedAfterCommit(turfId, saved.getBookingDate(), saved.getBookingTime());
+    return new BookingResponse(200, saved.getId(), saved.displayCode());
+  }
 
-    // Prevent double-booking
-    if (bookings.existsByTurfIdAndBookingDateAndBookingTime(turfId, req.bookingDate(), req.timeslot())) {
-      throw new IllegalStateException("This turf is already booked for that slot");
+  /**
+   * Only a clash on the live-slot constraints means someone else got there first; a
+   * missing turf, a null column or a confirmation_ref collision is a bug, not a 409.
+   * Postgres does not report the name of a violated exclusion constraint, only its message.
+   */
+  static boolean slotTaken(DataIntegrityViolationException e) {
+    for (Throwable t = e; t != null; t = t.getCause()) {
+      if (t instanceof ConstraintViolationException cve) {
+        var name = cve.getConstraintName() != null ? cve.getConstraintName() : cve.getSQLException().getMessage();
+        if (name == null) return false;
+        name = name.toLowerCase(Locale.ROOT);
+        return name.contains(SLOT_CONSTRAINT) || name.contains(BookingSchemaMigration.OVERLAP_EXCLUSION);
+      }
     }
+    return false;
+  }
 
-    var booking = Booking.builder()
+  private static Booking newBooking(Turf turf, User user, BookingRequest req) {
+    var slot = TimeSlot.parse(req.timeslot());
+    var now = Instant.now();
+    return Booking.builder()
         .turf(turf)
         .user(user)
         .bookingDate(req.bookingDate())
-        .bookingTime(req.timeslot())
+        .bookingTime(slot.toString())
+        .slotStart(slot.startMinute())
+        .slotEnd(slot.endMinute())
         .status(BookingStatus.BOOKED)
-        .confirmationCode(UUID.randomUUID().toString())
-        .createdAt(Instant.now())
+        .confirmationRef(ConfirmationCode.next(now).value())
+        .createdAt(now)
         .build();
-
-    var saved = bookings.save(booking);
-    return new BookingResponse(200, saved.getId(), saved.getConfirmationCode());
   }
 }
@@ -0,0 +1,84 @@
+package com.example.turf.booking;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Booking confirmation code: 32 bits of seconds since 2024 followed by 32 random
+ * bits, stored as a bigint (time-ordered, so index inserts append) and shown as 13
+ * Crockford base32 characters plus a Luhn mod 32 check character, e.g.
+ * {@code 01QJ8RZ-4XKD7M2}. Parsing is forgiving the way Crockford intends (any case,
+ * hyphens or spaces, I/L read as 1 and O as 0) and a wrong check character rejects
+ * a mistyped code before it reaches the database.
+ */
+public record ConfirmationCode(long value) {
+  private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+  private static final int DIGITS = 13;
+  private static final long EPOCH_SECOND = Instant.parse("2024-01-01T00:00:00Z").getEpochSecond();
+  private static final Pattern LEGACY_UUID =
+      Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  public static ConfirmationCode next(Instant now) {
+    long seconds = (now.getEpochSecond() - EPOCH_SECOND) & 0x7fffffffL;
+    return new ConfirmationCode(seconds << 32 | (RANDOM.nextInt() & 0xffffffffL));
+  }
+
+  /** The code a user typed, or empty if it can't be one of ours. */
+  public static Optional<ConfirmationCode> parse(String text) {
+    if (text == null) return Optional.empty();
+    var digits = new int[DIGITS + 1];
+    int n = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '-' || c == ' ') continue;
+      int d = digit(c);
+      if (d < 0 || n == digits.length) return Optional.empty();
+      digits[n++] = d;
+    }
+    if (n != digits.length || digits[0] > 7 || check(digits, DIGITS) != digits[DIGITS]) return Optional.empty();
+    long value = 0;
+    for (int i = 0; i < DIGITS; i++) value = value << 5 | digits[i];
+    return Optional.of(new ConfirmationCode(value));
+  }
+
+  /** Codes issued before the compact format were random UUID strings. */
+  public static boolean isLegacy(String text) {
+    return text != null && LEGACY_UUID.matcher(text).matches();
+  }
+
+  @Override
+  public String toString() {
+    var digits = new int[DIGITS + 1];
+    long v = value;
+    for (int i = DIGITS - 1; i >= 0; i--, v >>>= 5) digits[i] = (int) (v & 31);
+    digits[DIGITS] = check(digits, DIGITS);
+    var out = new StringBuilder(DIGITS + 2);
+    for (int i = 0; i < digits.length; i++) {
+      if (i == 7) out.append('-');
+      out.append(ALPHABET.charAt(digits[i]));
+    }
+    return out.toString();
+  }
+
+  // Luhn mod N over the first `length` digits, N = 32
+  private static int check(int[] digits, int length) {
+    int factor = 2;
+    int sum = 0;
+    for (int i = length - 1; i >= 0; i--) {
+      int addend = factor * digits[i];
+      sum += addend / 32 + addend % 32;
+      factor = factor == 2 ? 1 : 2;
+    }
+    return (32 - sum % 32) % 32;
+  }
+
+  private static int digit(char c) {
+    c = Character.toUpperCase(c);
+    if (c == 'I' || c == 'L') return 1;
+    if (c == 'O') return 0;
+    return ALPHABET.indexOf(c);
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.turf.booking;
+
+import com.example.turf.booking.archive.ArchivedBookingRepository;
+import com.example.turf.booking.dto.CheckInView;
+import com.example.turf.common.cache.BoundedCache;
+import com.example.turf.common.cache.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Front-desk check-in by confirmation code. Compact codes are validated (alphabet,
+ * length, check character) and looked up by their bigint; legacy UUID codes by the
+ * old column. Anything else is refused without a query. Found bookings are kept in
+ * a small LRU, since the same codes are looked up repeatedly on the day of play.
+ * Codes not in the live table are looked up in bookings_archive. Only booking and
+ * turf fields are returned; a code is no proof of who is asking.
+ */
+@Service
+public class ConfirmationLookup {
+  private final BookingRepository bookings;
+  private final ArchivedBookingRepository archived;
+  private final BoundedCache<String, CheckInView> cache;
+
+  public ConfirmationLookup(BookingRepository bookings, ArchivedBookingRepository archived,
+                            @Value("${app.bookings.lookup-cache.max-entries:2000}") long maxEntries) {
+    this.bookings = bookings;
+    this.archived = archived;
+    this.cache = new BoundedCache<>(maxEntries, v -> 1);
+  }
+
+  /** Whether the text can be a confirmation code at all; anything else never reaches {@link #find}. */
+  public static boolean isWellFormed(String code) {
+    return ConfirmationCode.parse(code).isPresent() || ConfirmationCode.isLegacy(code);
+  }
+
+  public Optional<CheckInView> find(String code) {
+    var compact = ConfirmationCode.parse(code);
+    if (compact.isPresent()) {
+      return Optional.ofNullable(cache.get(compact.get().toString(),
+          k -> bookings.findCheckInByConfirmationRef(compact.get().value())
+              .or(() -> archived.findCheckInByConfirmationRef(compact.get().value())).orElse(null)));
+    }
+    if (!ConfirmationCode.isLegacy(code)) return Optional.empty();
+    var legacy = code.toLowerCase(Locale.ROOT);
+    return Optional.ofNullable(cache.get(legacy, k -> bookings.findCheckInByLegacyCode(k).or(() -> archived.findCheckInByLegacyCode(k)).orElse(null)));
+  }
+
+  /** Drops a booking whose state changed; takes the code as displayed. */
+  public void evict(String displayCode) {
+    if (displayCode == null) return;
+    cache.invalidate(ConfirmationCode.isLegacy(displayCode) ? displayCode.toLowerCase(Locale.ROOT) : displayCode);
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+}
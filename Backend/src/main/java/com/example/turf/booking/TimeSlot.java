@@ -0,0 +1,62 @@
+package com.example.turf.booking;
+
+import java.util.Optional;
+
+/**
+ * A booking slot as minutes since midnight, [startMinute, endMinute). Parsed once
+ * from the "HH:mm-HH:mm" strings the UI sends, so overlap and conflict checks are
+ * integer comparisons.
+ */
+public record TimeSlot(int startMinute, int endMinute) {
+  /**
+   * What can be booked: "HH:mm-HH:mm" on the hour or half hour; 24:00 is allowed as an
+   * end. On that grid the in-memory cell masks and the minute range checks in SQL agree
+   * on what overlaps, even against legacy slots that are off it.
+   */
+  public static final String PATTERN = "^([01]\\d|2[0-3]):[03]0-(([01]\\d|2[0-3]):[03]0|24:00)$";
+
+  public TimeSlot {
+    if (startMinute < 0 || endMinute > 24 * 60 || endMinute <= startMinute) {
+      throw new IllegalArgumentException("Slot must end after it starts, within one day");
+    }
+  }
+
+  public static TimeSlot parse(String slot) {
+    return tryParse(slot).orElseThrow(() -> new IllegalArgumentException("Timeslot must look like HH:mm-HH:mm"));
+  }
+
+  /** Empty for legacy free-text slots that don't follow "HH:mm-HH:mm". */
+  public static Optional<TimeSlot> tryParse(String slot) {
+    if (slot == null) return Optional.empty();
+    String s = slot.trim();
+    int dash = s.indexOf('-');
+    if (dash < 0) return Optional.empty();
+    int start = minuteOfDay(s.substring(0, dash).trim());
+    int end = minuteOfDay(s.substring(dash + 1).trim());
+    if (start < 0 || end < 0 || end <= start) return Optional.empty();
+    return Optional.of(new TimeSlot(start, end));
+  }
+
+  public boolean overlaps(TimeSlot other) {
+    return startMinute < other.endMinute && other.startMinute < endMinute;
+  }
+
+  @Override
+  public String toString() {
+    return "%02d:%02d-%02d:%02d".formatted(startMinute / 60, startMinute % 60, endMinute / 60, endMinute % 60);
+  }
+
+  /** Minutes since midnight for "HH:mm" (24:00 allowed), or -1. */
+  private static int minuteOfDay(String hhmm) {
+    int colon = hhmm.indexOf(':');
+    if (colon < 1 || colon > 2 || hhmm.length() != colon + 3) return -1;
+    try {
+      int h = Integer.parseInt(hhmm.substring(0, colon));
+      int m = Integer.parseInt(hhmm.substring(colon + 1));
+      if (m < 0 || m > 59 || h < 0 || h > 24 || (h == 24 && m != 0)) return -1;
+      return h * 60 + m;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.example.turf.booking.archive;
+
+import com.example.turf.booking.BookingStatus;
+import com.example.turf.turf.Turf;
+import com.example.turf.user.User;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A booking dated before the hot window, moved out of {@code bookings} by
+ * {@link BookingArchiver}. Same columns and ids as the live table, written only by
+ * the mover's INSERT ... SELECT, read only by history and lookups.
+ */
+@Entity
+@Immutable
+@Table(
+  name = "bookings_archive",
+  uniqueConstraints = @UniqueConstraint(name = "uk_archive_confirmation_ref", columnNames = "confirmation_ref"),
+  indexes = {
+    @Index(name="idx_archive_date_id", columnList="booking_date, id"),
+    @Index(name="idx_archive_user_date_id", columnList="user_id, booking_date, id"),
+    @Index(name="idx_archive_confirmation_code", columnList="confirmation_code")
+  }
+)
+@Getter @NoArgsConstructor
+public class ArchivedBooking {
+  @Id
+  private Long id;
+
+  @ManyToOne(optional=false, fetch = FetchType.LAZY)
+  @JoinColumn(name="turf_id")
+  private Turf turf;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name="user_id")
+  private User user;
+
+  @Column(name="booking_date", nullable=false)
+  private LocalDate bookingDate;
+
+  @Column(name="booking_time", nullable=false, length=20)
+  private String bookingTime;
+
+  @Column(name="slot_start")
+  private Integer slotStart;
+
+  @Column(name="slot_end")
+  private Integer slotEnd;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable=false, length=20)
+  private BookingStatus status;
+
+  @Column(length=36)
+  private String confirmationCode;
+
+  @Column(name="confirmation_ref")
+  private Long confirmationRef;
+
+  @Column(nullable=false)
+  private Instant createdAt;
+
+  @Column(nullable=false)
+  private Instant archivedAt;
+}
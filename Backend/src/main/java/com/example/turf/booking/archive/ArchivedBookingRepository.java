@@ -0,0 +1,53 @@
+package com.example.turf.booking.archive;
+
+import com.example.turf.booking.dto.BookingView;
+import com.example.turf.booking.dto.CheckInView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/** Read side of bookings_archive; mirrors the history queries of BookingRepository. */
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+  String VIEW = """
+      select new com.example.turf.booking.dto.BookingView(b.id, b.confirmationCode, b.confirmationRef, b.bookingDate, b.bookingTime,
+          b.status, b.createdAt, t.id, t.name, t.sportType, u.id, u.fullName, u.email)
+      from ArchivedBooking b join b.turf t left join b.user u
+      """;
+  String CHECK_IN = """
+      select new com.example.turf.booking.dto.CheckInView(b.id, b.confirmationCode, b.confirmationRef, b.bookingDate, b.bookingTime,
+          b.status, b.createdAt, t.id, t.name, t.sportType)
+      from ArchivedBooking b join b.turf t
+      """;
+
+  @Query(VIEW + """
+      where b.bookingDate < :date or (b.bookingDate = :date and b.id < :id)
+      order by b.bookingDate desc, b.id desc""")
+  List<BookingView> findHistory(@Param("date") LocalDate date, @Param("id") long id, Limit limit);
+
+  @Query(VIEW + """
+      where u.id = :userId and (b.bookingDate < :date or (b.bookingDate = :date and b.id < :id))
+      order by b.bookingDate desc, b.id desc""")
+  List<BookingView> findHistoryOfUser(@Param("userId") Long userId, @Param("date") LocalDate date,
+                                      @Param("id") long id, Limit limit);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(VIEW + """
+      where b.bookingDate between :from and :to
+      order by b.bookingDate, b.id""")
+  Stream<BookingView> streamForExport(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Query(CHECK_IN + "where b.confirmationRef = :ref")
+  Optional<CheckInView> findCheckInByConfirmationRef(@Param("ref") long ref);
+
+  @Query(CHECK_IN + "where b.confirmationCode = :code")
+  Optional<CheckInView> findCheckInByLegacyCode(@Param("code") String code);
+}
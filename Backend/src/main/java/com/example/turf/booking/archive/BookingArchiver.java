@@ -0,0 +1,93 @@
+package com.example.turf.booking.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves bookings dated before the hot window from {@code bookings} to
+ * {@code bookings_archive}, so the live table, its unique key and the availability
+ * index only ever hold recent and upcoming bookings. Each batch is copied and
+ * deleted in one short transaction, oldest first along idx_booking_date_id, so
+ * no lock is held for longer than a few hundred rows take.
+ */
+@Slf4j
+@Component
+public class BookingArchiver {
+  private static final String COLUMNS = "id, turf_id, user_id, booking_date, booking_time, slot_start, slot_end, "
+      + "status, confirmation_code, confirmation_ref, created_at";
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final int keepDays;
+  private final int batchSize;
+  private final Clock clock;
+
+  @Autowired
+  public BookingArchiver(JdbcTemplate jdbc, TransactionTemplate tx,
+                         @Value("${app.archive.keep-days:30}") int keepDays,
+                         @Value("${app.archive.batch-size:500}") int batchSize) {
+    this(jdbc, tx, keepDays, batchSize, Clock.systemDefaultZone());
+  }
+
+  BookingArchiver(JdbcTemplate jdbc, TransactionTemplate tx, int keepDays, int batchSize, Clock clock) {
+    // availability and conflict checks read today onwards, which must stay in the live table
+    if (keepDays < 1) throw new IllegalArgumentException("app.archive.keep-days must be at least 1");
+    if (batchSize < 1) throw new IllegalArgumentException("app.archive.batch-size must be positive");
+    this.jdbc = jdbc;
+    this.tx = tx;
+    this.keepDays = keepDays;
+    this.batchSize = batchSize;
+    this.clock = clock;
+  }
+
+  /** Bookings dated before this are archived. */
+  public LocalDate cutoff() {
+    return LocalDate.now(clock).minusDays(keepDays);
+  }
+
+  @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+  public int archive() {
+    var cutoff = cutoff();
+    int moved = 0;
+    int n;
+    try {
+      do {
+        n = tx.execute(status -> moveBatch(cutoff));
+        moved += n;
+      } while (n == batchSize);
+    } catch (DuplicateKeyException e) {
+      // another instance is moving the same rows; its run will finish the job
+      log.info("Stopped archiving after {} bookings: batch already archived elsewhere", moved);
+      return moved;
+    }
+    if (moved > 0) log.info("Archived {} bookings dated before {}", moved, cutoff);
+    return moved;
+  }
+
+  private int moveBatch(LocalDate cutoff) {
+    List<Long> ids = jdbc.queryForList(
+        "select id from bookings where booking_date < ? order by booking_date, id limit " + batchSize,
+        Long.class, cutoff);
+    if (ids.isEmpty()) return 0;
+    var in = String.join(",", Collections.nCopies(ids.size(), "?"));
+    var args = ids.toArray();
+    var copyArgs = new Object[args.length + 1];
+    copyArgs[0] = Timestamp.from(clock.instant());
+    System.arraycopy(args, 0, copyArgs, 1, args.length);
+    jdbc.update("insert into bookings_archive (" + COLUMNS + ", archived_at) select " + COLUMNS
+        + ", ? from bookings where id in (" + in + ")", copyArgs);
+    return jdbc.update("delete from bookings where id in (" + in + ")", args);
+  }
+}
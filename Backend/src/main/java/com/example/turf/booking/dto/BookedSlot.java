@@ -0,0 +1,18 @@
+package com.example.turf.booking.dto;
+
+import com.example.turf.booking.occupancy.SlotGrid;
+
+import java.time.LocalDate;
+
+/** Just the columns needed to rebuild slot occupancy; slotStart/slotEnd are null on legacy rows. */
+public record BookedSlot(Long turfId, LocalDate bookingDate, String bookingTime, Integer slotStart, Integer slotEnd) {
+
+  public BookedSlot(Long turfId, LocalDate bookingDate, String bookingTime) {
+    this(turfId, bookingDate, bookingTime, null, null);
+  }
+
+  /** Grid cells from the typed columns, falling back to parsing the legacy string. */
+  public long mask() {
+    return slotStart != null && slotEnd != null ? SlotGrid.range(slotStart, slotEnd) : SlotGrid.mask(bookingTime);
+  }
+}
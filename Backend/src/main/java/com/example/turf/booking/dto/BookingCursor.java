@@ -0,0 +1,34 @@
+package com.example.turf.booking.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Seek position in (bookingDate desc, id desc) order: the last row of the previous
+ * page. Opaque to clients; {@link #FIRST} sorts before every real booking.
+ */
+public record BookingCursor(LocalDate bookingDate, long id) {
+  public static final BookingCursor FIRST = new BookingCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+
+  public static BookingCursor after(BookingView last) {
+    return new BookingCursor(last.bookingDate(), last.id());
+  }
+
+  public String encode() {
+    var raw = bookingDate + "|" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** The cursor, {@link #FIRST} when absent, or null when it isn't one of ours. */
+  public static BookingCursor decode(String token) {
+    if (token == null || token.isBlank()) return FIRST;
+    try {
+      var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int bar = raw.indexOf('|');
+      return new BookingCursor(LocalDate.parse(raw.substring(0, bar)), Long.parseLong(raw.substring(bar + 1)));
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+}
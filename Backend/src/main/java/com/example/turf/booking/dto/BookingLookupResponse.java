@@ -0,0 +1,4 @@
+package com.example.turf.booking.dto;
+
+/** Matches ApiService.getBookingByConfirmationCode: the booking under "booking", without its booker. */
+public record BookingLookupResponse(int statusCode, CheckInView booking) {}
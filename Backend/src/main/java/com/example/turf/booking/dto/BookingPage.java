@@ -0,0 +1,6 @@
+package com.example.turf.booking.dto;
+
+import java.util.List;
+
+/** One page of history; nextCursor is null on the last page. */
+public record BookingPage(int statusCode, List<BookingView> bookingList, String nextCursor) {}
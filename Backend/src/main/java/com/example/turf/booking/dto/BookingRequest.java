@@ -1,10 +1,12 @@
 package com.example.turf.booking.dto;
 
+import com.example.turf.booking.TimeSlot;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import java.time.LocalDate;
 
 public record BookingRequest(
   @NotNull LocalDate bookingDate,
-  @NotBlank String timeslot
+  @NotBlank @Pattern(regexp = TimeSlot.PATTERN, message = "must look like HH:mm-HH:mm, on the hour or half hour") String timeslot
 ) {}
@@ -0,0 +1,22 @@
+package com.example.turf.booking.dto;
+
+import com.example.turf.booking.BookingStatus;
+import com.example.turf.booking.ConfirmationCode;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/** Read-side row of booking history and exports; built by a single join, never from entities. */
+public record BookingView(Long id, String confirmationCode, LocalDate bookingDate, String timeSlot,
+                          BookingStatus status, Instant createdAt,
+                          Long turfId, String turfName, String sportType,
+                          Long userId, String userName, String userEmail) {
+  /** Query-side constructor: renders whichever confirmation code format the row has. */
+  public BookingView(Long id, String legacyCode, Long confirmationRef, LocalDate bookingDate, String timeSlot,
+                     BookingStatus status, Instant createdAt,
+                     Long turfId, String turfName, String sportType,
+                     Long userId, String userName, String userEmail) {
+    this(id, confirmationRef != null ? new ConfirmationCode(confirmationRef).toString() : legacyCode,
+        bookingDate, timeSlot, status, createdAt, turfId, turfName, sportType, userId, userName, userEmail);
+  }
+}
@@ -0,0 +1,14 @@
+package com.example.turf.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BulkBookingRequest(
+  @NotEmpty @Size(max = 100) List<@Valid BookingRequest> slots,
+  Mode mode
+) {
+  /** ALL_OR_NOTHING (default) books every slot or none; PARTIAL books whatever is free. */
+  public enum Mode { ALL_OR_NOTHING, PARTIAL }
+}
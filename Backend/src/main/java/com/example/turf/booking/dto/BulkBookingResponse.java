@@ -0,0 +1,15 @@
+package com.example.turf.booking.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BulkBookingResponse(int statusCode, List<SlotResult> results) {
+
+  public enum Status { BOOKED, CONFLICT, SKIPPED }
+
+  public record SlotResult(LocalDate bookingDate, String timeslot, Status status, Long bookingId, String confirmationCode) {
+    public static SlotResult of(BookingRequest slot, Status status) {
+      return new SlotResult(slot.bookingDate(), slot.timeslot(), status, null, null);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.turf.booking.dto;
+
+import com.example.turf.booking.BookingStatus;
+import com.example.turf.booking.ConfirmationCode;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * What the confirmation-code lookup shows: the booking and its turf. Anyone holding a code
+ * can ask, so the booker's name and email are never read, let alone returned.
+ */
+public record CheckInView(Long id, String confirmationCode, LocalDate bookingDate, String timeSlot,
+                          BookingStatus status, Instant createdAt,
+                          Long turfId, String turfName, String sportType) {
+  /** Query-side constructor: renders whichever confirmation code format the row has. */
+  public CheckInView(Long id, String legacyCode, Long confirmationRef, LocalDate bookingDate, String timeSlot,
+                     BookingStatus status, Instant createdAt, Long turfId, String turfName, String sportType) {
+    this(id, confirmationRef != null ? new ConfirmationCode(confirmationRef).toString() : legacyCode,
+        bookingDate, timeSlot, status, createdAt, turfId, turfName, sportType);
+  }
+}
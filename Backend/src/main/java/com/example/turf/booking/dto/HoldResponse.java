@@ -0,0 +1,5 @@
+package com.example.turf.booking.dto;
+
+import java.time.Instant;
+
+public record HoldResponse(int statusCode, String holdId, Instant expiresAt) {}
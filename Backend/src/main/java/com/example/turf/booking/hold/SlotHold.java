@@ -0,0 +1,10 @@
+package com.example.turf.booking.hold;
+
+import com.example.turf.booking.occupancy.SlotAdmission;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/** A short lease on one (turf, date, timeslot); the admission claim is what blocks other writers. */
+public record SlotHold(String id, Long turfId, Long userId, LocalDate bookingDate, String timeslot,
+                       Instant expiresAt, SlotAdmission.Claim claim) {}
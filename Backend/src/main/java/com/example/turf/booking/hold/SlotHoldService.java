@@ -0,0 +1,143 @@
+package com.example.turf.booking.hold;
+
+import com.example.turf.booking.BookingConflictException;
+import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.TimeSlot;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.occupancy.SlotAdmission;
+import com.example.turf.common.ratelimit.RateLimitedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checkout holds: a user leases a slot for a short TTL while paying, so it can't be
+ * sniped. A hold is an in-process {@link SlotAdmission} claim kept open until it is
+ * confirmed, released or swept by the timer wheel, which means regular bookings and
+ * availability searches treat the slot as taken without any database state. Each user
+ * may hold a few slots at once, and the whole map is capped, so a script cannot lease
+ * the calendar away.
+ */
+@Service
+public class SlotHoldService {
+  public static final String EXPIRED = "Hold has expired or does not exist";
+  public static final String PAST = "Cannot hold a slot in the past";
+
+  private final SlotAdmission admission;
+  private final OccupancyIndex occupancy;
+  private final BookingRepository bookings;
+  private final Duration ttl;
+  private final int maxPerUser;
+  private final int maxActive;
+  private final Clock clock;
+  private final Map<String, SlotHold> holds = new ConcurrentHashMap<>();
+  private final Map<Long, Integer> perUser = new ConcurrentHashMap<>();
+  private final TimerWheel<SlotHold> wheel;
+
+  @Autowired
+  public SlotHoldService(SlotAdmission admission, OccupancyIndex occupancy, BookingRepository bookings,
+                         @Value("${app.holds.ttl:PT5M}") Duration ttl,
+                         @Value("${app.holds.max-per-user:3}") int maxPerUser,
+                         @Value("${app.holds.max-active:10000}") int maxActive) {
+    this(admission, occupancy, bookings, ttl, maxPerUser, maxActive, Clock.systemUTC());
+  }
+
+  SlotHoldService(SlotAdmission admission, OccupancyIndex occupancy, BookingRepository bookings,
+                  Duration ttl, int maxPerUser, int maxActive, Clock clock) {
+    if (maxPerUser < 1 || maxActive < maxPerUser) {
+      throw new IllegalArgumentException("need 1 <= app.holds.max-per-user <= max-active");
+    }
+    this.admission = admission;
+    this.occupancy = occupancy;
+    this.bookings = bookings;
+    this.ttl = ttl;
+    this.maxPerUser = maxPerUser;
+    this.maxActive = maxActive;
+    this.clock = clock;
+    this.wheel = new TimerWheel<>(1024, 1000, clock.millis());
+  }
+
+  /**
+   * Leases the slot for the ttl. The caller has already checked that the turf and user
+   * exist; a past date is an IllegalArgumentException, and a user at their limit (or a
+   * full map) is told to retry once a hold lapses.
+   */
+  public SlotHold hold(Long turfId, Long userId, LocalDate date, String slot) {
+    var range = TimeSlot.parse(slot);
+    if (date.isBefore(LocalDate.ofInstant(clock.instant(), ZoneId.systemDefault()))) {
+      throw new IllegalArgumentException(PAST);
+    }
+    reserve(userId);
+    SlotAdmission.Claim claim;
+    try {
+      claim = admission.claim(turfId, date, slot);
+      if (!occupancy.covers(date)
+          && bookings.existsOverlapping(turfId, date, range.startMinute(), range.endMinute())) {
+        claim.close();
+        throw new BookingConflictException(SlotAdmission.TAKEN);
+      }
+    } catch (RuntimeException e) {
+      unreserve(userId);
+      throw e;
+    }
+    var hold = new SlotHold(UUID.randomUUID().toString(), turfId, userId, date, slot,
+        clock.instant().plus(ttl), claim);
+    holds.put(hold.id(), hold);
+    wheel.schedule(hold, hold.expiresAt().toEpochMilli());
+    return hold;
+  }
+
+  /** Counts the hold against its user before anything is claimed; the map cap is soft by at most one per caller. */
+  private void reserve(Long userId) {
+    if (holds.size() >= maxActive) throw new RateLimitedException("holds", ttl);
+    perUser.compute(userId, (id, n) -> {
+      if (n != null && n >= maxPerUser) throw new RateLimitedException("holds", ttl);
+      return n == null ? 1 : n + 1;
+    });
+  }
+
+  private void unreserve(Long userId) {
+    perUser.computeIfPresent(userId, (id, n) -> n > 1 ? n - 1 : null);
+  }
+
+  /**
+   * Removes a live hold so the caller can promote it; the caller then owns
+   * {@link SlotHold#claim()} and must close it once the booking is written.
+   */
+  public SlotHold take(String holdId, Long userId) {
+    var hold = holds.get(holdId);
+    if (hold == null || !hold.userId().equals(userId) || !clock.instant().isBefore(hold.expiresAt())
+        || !holds.remove(holdId, hold)) {
+      throw new BookingConflictException(EXPIRED);
+    }
+    unreserve(userId);
+    return hold;
+  }
+
+  public void release(String holdId, Long userId) {
+    take(holdId, userId).claim().close();
+  }
+
+  @Scheduled(fixedRateString = "${app.holds.sweep-interval:PT1S}")
+  public void sweep() {
+    wheel.advance(clock.millis(), hold -> {
+      if (holds.remove(hold.id(), hold)) {
+        unreserve(hold.userId());
+        hold.claim().close();
+      }
+    });
+  }
+
+  public int active() {
+    return holds.size();
+  }
+}
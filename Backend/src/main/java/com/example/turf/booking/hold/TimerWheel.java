@@ -0,0 +1,47 @@
+package com.example.turf.booking.hold;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: scheduling is O(1) and each tick only scans one bucket.
+ * Deadlines further out than one revolution simply stay in their bucket for
+ * another lap.
+ */
+final class TimerWheel<T> {
+  private record Entry<T>(T item, long deadlineTick) {}
+
+  private final Queue<Entry<T>>[] buckets;
+  private final long tickMillis;
+  private volatile long currentTick;
+
+  @SuppressWarnings("unchecked")
+  TimerWheel(int size, long tickMillis, long nowMillis) {
+    this.buckets = new Queue[size];
+    for (int i = 0; i < size; i++) buckets[i] = new ConcurrentLinkedQueue<>();
+    this.tickMillis = tickMillis;
+    this.currentTick = nowMillis / tickMillis;
+  }
+
+  void schedule(T item, long deadlineMillis) {
+    long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+    buckets[(int) (tick % buckets.length)].add(new Entry<>(item, tick));
+  }
+
+  /** Fires every entry due by {@code nowMillis}; catching up never scans more than one revolution. */
+  synchronized void advance(long nowMillis, Consumer<T> expired) {
+    long target = nowMillis / tickMillis;
+    long from = Math.max(currentTick + 1, target - buckets.length + 1);
+    for (long tick = from; tick <= target; tick++) {
+      for (var it = buckets[(int) (tick % buckets.length)].iterator(); it.hasNext(); ) {
+        var entry = it.next();
+        if (entry.deadlineTick() <= target) {
+          it.remove();
+          expired.accept(entry.item());
+        }
+      }
+    }
+    if (target > currentTick) currentTick = target;
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.turf.booking.occupancy;
+
+import com.example.turf.booking.BookingRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Occupancy grid of many turfs over a date range as JSON. One range query (in turf,
+ * date order) is drained into a long per turf-day and the connection goes back to the
+ * pool before the first byte is written, so a slow client never pins it; the request
+ * caps keep that grid small. Each day is a hex {@link SlotGrid} mask ("0" = all free,
+ * bit n = cell starting at n*30 min):
+ * <pre>{"from":"2026-10-19","to":"2026-10-25","cellMinutes":30,
+ *  "turfs":[{"turfId":1,"days":["0","f000","0",...]},...]}</pre>
+ * Cells under a checkout hold or a booking in flight are marked too. A legacy
+ * booking whose text slot can't be placed on the grid marks its whole day.
+ */
+@Component @RequiredArgsConstructor
+public class OccupancyCalendar {
+  private static final long WHOLE_DAY = SlotGrid.range(0, 24 * 60);
+
+  private final BookingRepository bookings;
+  private final SlotAdmission admission;
+  private final ObjectMapper mapper;
+  private final TransactionTemplate tx;
+
+  public void write(Collection<Long> turfIds, LocalDate from, LocalDate to, OutputStream out) {
+    var ids = turfIds.stream().distinct().sorted().toList();
+    var masks = read(ids, from, to);
+    try (var json = mapper.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+      json.writeStartObject();
+      json.writeStringField("from", from.toString());
+      json.writeStringField("to", to.toString());
+      json.writeNumberField("cellMinutes", SlotGrid.CELL_MINUTES);
+      json.writeArrayFieldStart("turfs");
+      for (int t = 0; t < ids.size(); t++) {
+        json.writeStartObject();
+        json.writeNumberField("turfId", ids.get(t));
+        json.writeArrayFieldStart("days");
+        for (int d = 0; d < masks[t].length; d++) {
+          json.writeString(Long.toHexString(masks[t][d] | admission.claimed(ids.get(t), from.plusDays(d))));
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.flush();
+      }
+      json.writeEndArray();
+      json.writeEndObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Booked cells per [turf][day], read inside one short read-only transaction. */
+  private long[][] read(List<Long> ids, LocalDate from, LocalDate to) {
+    var masks = new long[ids.size()][(int) ChronoUnit.DAYS.between(from, to) + 1];
+    tx.executeWithoutResult(status -> {
+      status.setRollbackOnly();
+      try (var rows = bookings.streamBookedSlots(ids, from, to)) {
+        rows.forEach(row -> {
+          long cells = row.mask();
+          masks[Collections.binarySearch(ids, row.turfId())][(int) ChronoUnit.DAYS.between(from, row.bookingDate())]
+              |= cells == 0 ? WHOLE_DAY : cells;
+        });
+      }
+    });
+    return masks;
+  }
+}
@@ -0,0 +1,195 @@
+package com.example.turf.booking.occupancy;
+
+import com.example.turf.booking.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory slot occupancy for the hot booking window (today + windowDays).
+ * Each (turf, date) is a {@link SlotGrid} bit mask; a date is only answered from
+ * memory once it has been loaded from the bookings table, otherwise callers fall
+ * back to the database. Bookings are written through after commit.
+ */
+@Slf4j
+@Component
+public class OccupancyIndex {
+  /** Rough heap cost of one (turfId -> mask) entry in a ConcurrentHashMap. */
+  static final int BYTES_PER_ENTRY = 64;
+
+  private enum State { LOADING, READY, DISABLED }
+
+  private static final class Day {
+    final Map<Long, Long> masks = new ConcurrentHashMap<>();
+    volatile State state = State.LOADING;
+  }
+
+  public record Stats(int days, int readyDays, int entries, long estimatedBytes) {}
+
+  private final BookingRepository bookings;
+  private final int windowDays;
+  private final int maxEntries;
+  private final Map<LocalDate, Day> days = new ConcurrentHashMap<>();
+
+  public OccupancyIndex(
+      BookingRepository bookings,
+      @Value("${app.occupancy.window-days:14}") int windowDays,
+      @Value("${app.occupancy.max-entries:200000}") int maxEntries) {
+    this.bookings = bookings;
+    this.windowDays = windowDays;
+    this.maxEntries = maxEntries;
+  }
+
+  /** True if searches on this date can be answered from memory. */
+  public boolean covers(LocalDate date) {
+    var day = days.get(date);
+    return day != null && day.state == State.READY;
+  }
+
+  /** Occupied cells of a turf on a date; only meaningful when {@link #covers} is true. */
+  public long occupied(Long turfId, LocalDate date) {
+    var day = days.get(date);
+    return day == null ? 0L : day.masks.getOrDefault(turfId, 0L);
+  }
+
+  public boolean isFree(Long turfId, LocalDate date, long mask) {
+    return (occupied(turfId, date) & mask) == 0;
+  }
+
+  public void markBookedAfterCommit(Long turfId, LocalDate date, String slot) {
+    afterCommit(() -> markBooked(turfId, date, slot));
+  }
+
+  public void releaseAfterCommit(Long turfId, LocalDate date, String slot) {
+    afterCommit(() -> release(turfId, date, slot));
+  }
+
+  void markBooked(Long turfId, LocalDate date, String slot) {
+    var day = days.get(date);
+    if (day == null || day.state == State.DISABLED) return;
+    long mask = SlotGrid.mask(slot);
+    if (mask == 0) {
+      disable(date, day, "unparseable slot '" + slot + "'");
+    } else if (!day.masks.containsKey(turfId) && entries() >= maxEntries) {
+      disable(date, day, "memory budget of " + maxEntries + " entries reached");
+    } else {
+      day.masks.merge(turfId, mask, (a, b) -> a | b);
+    }
+  }
+
+  void release(Long turfId, LocalDate date, String slot) {
+    var day = days.get(date);
+    long mask = SlotGrid.mask(slot);
+    if (day == null || mask == 0) return;
+    day.masks.computeIfPresent(turfId, (id, bits) -> (bits & ~mask) == 0 ? null : bits & ~mask);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warm() {
+    refreshWindow();
+    log.info("Occupancy index warmed: {}", stats());
+  }
+
+  /** Drops dates that left the window and loads the ones that entered it. */
+  @Scheduled(cron = "${app.occupancy.refresh-cron:0 1 0 * * *}")
+  public void refreshWindow() {
+    var today = LocalDate.now();
+    var end = today.plusDays(windowDays);
+    days.keySet().removeIf(d -> d.isBefore(today) || !d.isBefore(end));
+    var missing = today.datesUntil(end).filter(d -> !days.containsKey(d)).toList();
+    if (!missing.isEmpty()) load(missing);
+  }
+
+  /**
+   * Compares every date in the window against the bookings table and reloads the
+   * ones that drifted; disabled dates get another try. Returns the number that drifted.
+   */
+  @Scheduled(fixedDelayString = "${app.occupancy.verify-interval:PT15M}",
+             initialDelayString = "${app.occupancy.verify-interval:PT15M}")
+  public int verify() {
+    var today = LocalDate.now();
+    var expected = new HashMap<LocalDate, Map<Long, Long>>();
+    for (var row : bookings.findBookedSlots(today, today.plusDays(windowDays - 1))) {
+      expected.computeIfAbsent(row.bookingDate(), d -> new HashMap<>())
+          .merge(row.turfId(), row.mask(), (a, b) -> a | b);
+    }
+    var drifted = new ArrayList<LocalDate>();
+    var retry = new ArrayList<LocalDate>();
+    today.datesUntil(today.plusDays(windowDays)).forEach(date -> {
+      var day = days.get(date);
+      if (day == null || day.state == State.DISABLED) retry.add(date);
+      else if (day.state == State.READY && !day.masks.equals(expected.getOrDefault(date, Map.of()))) drifted.add(date);
+    });
+    if (!drifted.isEmpty()) log.warn("Occupancy index out of sync with bookings on {}, reloading", drifted);
+    retry.addAll(drifted);
+    if (!retry.isEmpty()) load(retry);
+    return drifted.size();
+  }
+
+  public Stats stats() {
+    int ready = (int) days.values().stream().filter(d -> d.state == State.READY).count();
+    int entries = entries();
+    return new Stats(days.size(), ready, entries, (long) entries * BYTES_PER_ENTRY);
+  }
+
+  /** Loads the given dates with one range query, nearest date first against the budget. */
+  private void load(List<LocalDate> dates) {
+    var fresh = new HashMap<LocalDate, Day>();
+    for (var date : dates) {
+      var day = new Day();
+      fresh.put(date, day);
+      days.put(date, day); // registered before the query so concurrent write-through lands in it
+    }
+    var from = dates.stream().min(LocalDate::compareTo).orElseThrow();
+    var to = dates.stream().max(LocalDate::compareTo).orElseThrow();
+    var unparseable = new HashMap<LocalDate, String>();
+    for (var row : bookings.findBookedSlots(from, to)) {
+      var day = fresh.get(row.bookingDate());
+      if (day == null) continue;
+      long mask = row.mask();
+      if (mask == 0) unparseable.putIfAbsent(row.bookingDate(), row.bookingTime());
+      else day.masks.merge(row.turfId(), mask, (a, b) -> a | b);
+    }
+    int budget = maxEntries - days.entrySet().stream()
+        .filter(e -> !fresh.containsKey(e.getKey())).mapToInt(e -> e.getValue().masks.size()).sum();
+    for (var date : dates.stream().sorted().toList()) {
+      var day = fresh.get(date);
+      budget -= day.masks.size();
+      if (unparseable.containsKey(date)) disable(date, day, "unparseable slot '" + unparseable.get(date) + "'");
+      else if (budget < 0) disable(date, day, "memory budget of " + maxEntries + " entries reached");
+      else if (day.state == State.LOADING) day.state = State.READY;
+    }
+  }
+
+  private void disable(LocalDate date, Day day, String reason) {
+    if (day.state != State.DISABLED) log.warn("Occupancy index disabled for {}: {}", date, reason);
+    day.state = State.DISABLED;
+    day.masks.clear();
+  }
+
+  private int entries() {
+    return days.values().stream().mapToInt(d -> d.masks.size()).sum();
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override public void afterCommit() { action.run(); }
+    });
+  }
+}
@@ -0,0 +1,66 @@
+package com.example.turf.booking.occupancy;
+
+import com.example.turf.booking.BookingConflictException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process admission for booking writes. A request must claim its slot cells on
+ * (turf, date) before it may open a transaction; if the cells are already booked
+ * (per the occupancy index) or claimed by a request in flight, it fails fast
+ * without touching the connection pool. Claims are striped per (turf, date) by the
+ * map's bins and released when the writer finishes (or, for checkout holds, when the
+ * lease ends). The unique constraint in the database stays the final arbiter across
+ * instances.
+ */
+@Component @RequiredArgsConstructor
+public class SlotAdmission {
+  public static final String TAKEN = "This turf is already booked for that slot";
+
+  /** Held for the duration of the write; closing releases the cells. */
+  public interface Claim extends AutoCloseable {
+    @Override void close();
+  }
+
+  private record Key(Long turfId, LocalDate date) {}
+
+  private static final Claim UNTRACKED = () -> {};
+
+  private final OccupancyIndex occupancy;
+  private final Map<Key, Long> inFlight = new ConcurrentHashMap<>();
+
+  public Claim claim(Long turfId, LocalDate date, String slot) {
+    long mask = SlotGrid.mask(slot);
+    if (mask == 0) return UNTRACKED;
+    if (occupancy.covers(date) && !occupancy.isFree(turfId, date, mask)) throw new BookingConflictException(TAKEN);
+
+    var key = new Key(turfId, date);
+    boolean[] won = {false};
+    inFlight.compute(key, (k, bits) -> {
+      long held = bits == null ? 0L : bits;
+      if ((held & mask) != 0) return bits;
+      won[0] = true;
+      return held | mask;
+    });
+    if (!won[0]) throw new BookingConflictException(TAKEN);
+    return () -> inFlight.computeIfPresent(key, (k, bits) -> (bits & ~mask) == 0 ? null : bits & ~mask);
+  }
+
+  /** Cells of (turf, date) claimed by writes in flight or holds. */
+  public long claimed(Long turfId, LocalDate date) {
+    return inFlight.getOrDefault(new Key(turfId, date), 0L);
+  }
+
+  /** True if any of the cells is claimed by a write in flight or a hold. */
+  public boolean isClaimed(Long turfId, LocalDate date, long mask) {
+    return (inFlight.getOrDefault(new Key(turfId, date), 0L) & mask) != 0;
+  }
+
+  int inFlight() {
+    return inFlight.size();
+  }
+}
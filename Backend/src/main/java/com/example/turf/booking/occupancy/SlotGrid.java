@@ -0,0 +1,31 @@
+package com.example.turf.booking.occupancy;
+
+import com.example.turf.booking.TimeSlot;
+
+/**
+ * Maps time slots onto a 30-minute grid, one bit per cell, so a whole day of one
+ * turf fits in a single {@code long}.
+ */
+public final class SlotGrid {
+  public static final int CELL_MINUTES = 30;
+  public static final int CELLS_PER_DAY = 24 * 60 / CELL_MINUTES;
+
+  private SlotGrid() {}
+
+  /** Bit mask of the cells touched by the slot, or 0 if the string is not "HH:mm-HH:mm". */
+  public static long mask(String slot) {
+    return TimeSlot.tryParse(slot).map(SlotGrid::mask).orElse(0L);
+  }
+
+  public static long mask(TimeSlot slot) {
+    return range(slot.startMinute(), slot.endMinute());
+  }
+
+  /** Bit mask of the cells overlapping [startMinute, endMinute). */
+  public static long range(int startMinute, int endMinute) {
+    int from = startMinute / CELL_MINUTES;
+    int to = (endMinute + CELL_MINUTES - 1) / CELL_MINUTES;
+    long bits = to - from >= 64 ? -1L : (1L << (to - from)) - 1;
+    return bits << from;
+  }
+}
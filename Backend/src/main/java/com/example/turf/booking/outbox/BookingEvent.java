@@ -0,0 +1,12 @@
+package com.example.turf.booking.outbox;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * What a handler is told about a booking. A booking is booked once and cancelled at
+ * most once, so (type, bookingId) identifies an event; delivery is at least once, and
+ * handlers use that pair to drop repeats.
+ */
+public record BookingEvent(BookingEventType type, Long bookingId, Long turfId, Long userId, LocalDate bookingDate,
+                           String timeSlot, String confirmationCode, Instant occurredAt) {}
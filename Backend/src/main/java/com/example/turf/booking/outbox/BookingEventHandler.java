@@ -0,0 +1,21 @@
+package com.example.turf.booking.outbox;
+
+import java.util.List;
+
+/**
+ * A side effect of booking writes (emails, SMS, analytics, ...) run off the request
+ * path by {@link OutboxDispatcher}. Every handler bean gets its own copy of each event
+ * and its own retries, so a slow or failing handler never holds up the others.
+ */
+public interface BookingEventHandler {
+
+  /** Stable key stored with the handler's pending events; renaming a handler orphans them. */
+  String name();
+
+  /**
+   * Handles a batch, oldest first. Throwing fails the whole batch, which is retried
+   * with backoff; events may be delivered again after a failure or a restart, and
+   * batches of one handler may overlap, so handling must be idempotent.
+   */
+  void handle(List<BookingEvent> events) throws Exception;
+}
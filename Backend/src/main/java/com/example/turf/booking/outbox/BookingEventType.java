@@ -0,0 +1,3 @@
+package com.example.turf.booking.outbox;
+
+public enum BookingEventType { BOOKED, CANCELLED }
@@ -0,0 +1,61 @@
+package com.example.turf.booking.outbox;
+
+import com.example.turf.booking.Booking;
+import com.example.turf.booking.dto.BookingView;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Write side of the booking event outbox. Called inside the transaction that writes
+ * the booking, so an event exists exactly when its booking change committed; one
+ * entry is written per handler. With no handlers registered nothing is written.
+ */
+@Component
+public class BookingOutbox {
+  private final OutboxEntryRepository entries;
+  private final List<String> handlers;
+
+  public BookingOutbox(OutboxEntryRepository entries, List<BookingEventHandler> handlers) {
+    this.entries = entries;
+    this.handlers = handlers.stream().map(BookingEventHandler::name).toList();
+    if (new HashSet<>(this.handlers).size() < this.handlers.size()) {
+      throw new IllegalArgumentException("Booking event handler names must be unique: " + this.handlers);
+    }
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void booked(Collection<Booking> bookings) {
+    if (handlers.isEmpty() || bookings.isEmpty()) return;
+    var now = Instant.now();
+    var pending = new ArrayList<OutboxEntry>(bookings.size() * handlers.size());
+    for (var b : bookings) {
+      for (var handler : handlers) {
+        pending.add(entry(handler, BookingEventType.BOOKED, now).bookingId(b.getId()).turfId(b.getTurf().getId())
+            .userId(b.getUser() == null ? null : b.getUser().getId()).bookingDate(b.getBookingDate())
+            .bookingTime(b.getBookingTime()).confirmationCode(b.displayCode()).build());
+      }
+    }
+    entries.saveAll(pending);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void cancelled(BookingView booking) {
+    if (handlers.isEmpty()) return;
+    var now = Instant.now();
+    entries.saveAll(handlers.stream().map(handler -> entry(handler, BookingEventType.CANCELLED, now)
+        .bookingId(booking.id()).turfId(booking.turfId()).userId(booking.userId())
+        .bookingDate(booking.bookingDate()).bookingTime(booking.timeSlot())
+        .confirmationCode(booking.confirmationCode()).build()).toList());
+  }
+
+  private static OutboxEntry.OutboxEntryBuilder entry(String handler, BookingEventType type, Instant now) {
+    return OutboxEntry.builder().handler(handler).type(type).createdAt(now).availableAt(now);
+  }
+}
@@ -0,0 +1,69 @@
+package com.example.turf.booking.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process handler, for running the whole outbox pipeline offline: keeps the last
+ * {@code capacity} events and republishes each as an application event, so an
+ * {@code @EventListener(BookingEvent.class)} in this app receives it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.local-sink.enabled", havingValue = "true")
+public class LocalEventSink implements BookingEventHandler {
+  private final ApplicationEventPublisher publisher;
+  private final int capacity;
+  // guarded by lock, not a monitor, so dispatcher lanes on virtual threads don't pin
+  private final Deque<BookingEvent> recent = new ArrayDeque<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LongAdder received = new LongAdder();
+
+  public LocalEventSink(ApplicationEventPublisher publisher,
+                        @Value("${app.outbox.local-sink.capacity:1000}") int capacity) {
+    if (capacity < 1) throw new IllegalArgumentException("app.outbox.local-sink.capacity must be positive");
+    this.publisher = publisher;
+    this.capacity = capacity;
+  }
+
+  @Override
+  public String name() {
+    return "local";
+  }
+
+  @Override
+  public void handle(List<BookingEvent> events) {
+    lock.lock();
+    try {
+      for (var event : events) {
+        if (recent.size() == capacity) recent.removeFirst();
+        recent.addLast(event);
+      }
+    } finally {
+      lock.unlock();
+    }
+    received.add(events.size());
+    events.forEach(publisher::publishEvent);
+  }
+
+  /** The most recent events, oldest first. */
+  public List<BookingEvent> recent() {
+    lock.lock();
+    try {
+      return List.copyOf(recent);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long received() {
+    return received.sum();
+  }
+}
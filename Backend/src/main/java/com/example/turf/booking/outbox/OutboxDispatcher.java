@@ -0,0 +1,242 @@
+package com.example.turf.booking.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains the booking event outbox in the background. Each handler has its own lane:
+ * a few threads and at most {@code max-in-flight} batches out at once. Beyond that its
+ * events simply wait in the table, so a slow handler backs up only itself. A batch is
+ * claimed by bumping each entry's attempts and pushing its available_at out by the
+ * lease; an entry whose batch isn't finished within the lease is claimed again.
+ * Handled entries are deleted. A failed batch is retried with exponential backoff and
+ * parked (available_at null, last_error kept) after {@code max-attempts}.
+ * <p>
+ * The table is polled every {@code poll-interval}; a lane that just finished a full
+ * batch claims the next one straight away.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher implements DisposableBean {
+  public record Stats(String handler, int inFlight, long batches, long delivered, long failed, long parked) {}
+
+  private record Claimed(long id, int attempts, BookingEvent event) {}
+
+  private static final class Lane {
+    final BookingEventHandler handler;
+    final ExecutorService executor;
+    final AtomicInteger inFlight = new AtomicInteger();
+    final LongAdder batches = new LongAdder();
+    final LongAdder delivered = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final LongAdder parked = new LongAdder();
+
+    Lane(BookingEventHandler handler, int threads) {
+      this.handler = handler;
+      var ids = new AtomicInteger();
+      this.executor = Executors.newFixedThreadPool(threads, r -> {
+        var t = new Thread(r, "outbox-" + handler.name() + "-" + ids.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+      });
+    }
+  }
+
+  private final JdbcTemplate jdbc;
+  private final Map<String, Lane> lanes = new LinkedHashMap<>();
+  private final int batchSize;
+  private final int maxInFlight;
+  private final int maxAttempts;
+  private final Duration lease;
+  private final Duration backoff;
+  private final Duration maxBackoff;
+  private final Clock clock;
+  private volatile Instant oldestPending;
+
+  @Autowired
+  public OutboxDispatcher(JdbcTemplate jdbc, List<BookingEventHandler> handlers,
+                          @Value("${app.outbox.batch-size:100}") int batchSize,
+                          @Value("${app.outbox.max-in-flight:2}") int maxInFlight,
+                          @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                          @Value("${app.outbox.lease:PT1M}") Duration lease,
+                          @Value("${app.outbox.backoff:PT1S}") Duration backoff,
+                          @Value("${app.outbox.max-backoff:PT5M}") Duration maxBackoff) {
+    this(jdbc, handlers, batchSize, maxInFlight, maxAttempts, lease, backoff, maxBackoff, Clock.systemDefaultZone());
+  }
+
+  OutboxDispatcher(JdbcTemplate jdbc, List<BookingEventHandler> handlers, int batchSize, int maxInFlight,
+                   int maxAttempts, Duration lease, Duration backoff, Duration maxBackoff, Clock clock) {
+    if (batchSize < 1) throw new IllegalArgumentException("app.outbox.batch-size must be positive");
+    if (maxInFlight < 1) throw new IllegalArgumentException("app.outbox.max-in-flight must be positive");
+    if (maxAttempts < 1) throw new IllegalArgumentException("app.outbox.max-attempts must be positive");
+    this.jdbc = jdbc;
+    this.batchSize = batchSize;
+    this.maxInFlight = maxInFlight;
+    this.maxAttempts = maxAttempts;
+    this.lease = lease;
+    this.backoff = backoff;
+    this.maxBackoff = maxBackoff;
+    this.clock = clock;
+    handlers.forEach(h -> lanes.put(h.name(), new Lane(h, maxInFlight)));
+  }
+
+  /** Claims and hands out due batches for every handler with room; returns the number of batches handed out. */
+  @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT0.5S}")
+  public int poll() {
+    if (lanes.isEmpty()) return 0;
+    int started = 0;
+    for (var lane : lanes.values()) started += fill(lane);
+    // ids come from a pooled sequence, so they don't follow created_at across instances
+    var oldest = jdbc.queryForObject("select min(created_at) from booking_outbox where available_at is not null", Timestamp.class);
+    oldestPending = oldest == null ? null : oldest.toInstant();
+    return started;
+  }
+
+  /** Age of the oldest event not yet handled by every handler, as of the last poll; zero when drained or ahead of this clock. */
+  public Duration lag() {
+    var oldest = oldestPending;
+    if (oldest == null) return Duration.ZERO;
+    var age = Duration.between(oldest, clock.instant());
+    return age.isNegative() ? Duration.ZERO : age;
+  }
+
+  public List<Stats> stats() {
+    return lanes.values().stream().map(l -> new Stats(l.handler.name(), l.inFlight.get(), l.batches.sum(),
+        l.delivered.sum(), l.failed.sum(), l.parked.sum())).toList();
+  }
+
+  /** Waits until no batch is out; for tests and shutdown. */
+  boolean awaitIdle(Duration timeout) throws InterruptedException {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (lanes.values().stream().anyMatch(l -> l.inFlight.get() > 0)) {
+      if (System.nanoTime() > deadline) return false;
+      Thread.sleep(5);
+    }
+    return true;
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    lanes.values().forEach(l -> l.executor.shutdown());
+    // anything still out is claimed again once its lease runs out
+    for (var lane : lanes.values()) lane.executor.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  /** Takes an in-flight slot per batch; the slot is given back unless the batch reached the executor. */
+  private int fill(Lane lane) {
+    int started = 0;
+    while (true) {
+      if (lane.inFlight.incrementAndGet() > maxInFlight) {
+        lane.inFlight.decrementAndGet();
+        return started;
+      }
+      boolean handedOut = false;
+      try {
+        var batch = claim(lane.handler.name());
+        if (batch.isEmpty()) return started;
+        lane.executor.execute(() -> run(lane, batch));
+        handedOut = true;
+        started++;
+      } catch (RejectedExecutionException e) {
+        return started; // shutting down; the lease brings the batch back
+      } finally {
+        if (!handedOut) lane.inFlight.decrementAndGet();
+      }
+    }
+  }
+
+  private void run(Lane lane, List<Claimed> batch) {
+    boolean full = batch.size() == batchSize;
+    try {
+      lane.handler.handle(batch.stream().map(Claimed::event).toList());
+      delete(batch);
+      lane.delivered.add(batch.size());
+    } catch (Exception e) {
+      lane.failed.add(batch.size());
+      lane.parked.add(reschedule(lane.handler.name(), batch, e));
+      full = false;
+    } finally {
+      lane.batches.increment();
+      lane.inFlight.decrementAndGet();
+    }
+    if (full) fill(lane);
+  }
+
+  private List<Claimed> claim(String handler) {
+    var now = clock.instant();
+    var due = jdbc.query("""
+        select id, attempts, type, booking_id, turf_id, user_id, booking_date, booking_time, confirmation_code, created_at
+        from booking_outbox where handler = ? and available_at <= ? order by available_at, id limit %d""".formatted(batchSize),
+        (rs, n) -> new Claimed(rs.getLong("id"), rs.getInt("attempts"), new BookingEvent(
+            BookingEventType.valueOf(rs.getString("type")), rs.getLong("booking_id"), rs.getLong("turf_id"),
+            rs.getObject("user_id", Long.class), rs.getObject("booking_date", LocalDate.class),
+            rs.getString("booking_time"), rs.getString("confirmation_code"), rs.getTimestamp("created_at").toInstant())),
+        handler, Timestamp.from(now));
+    if (due.isEmpty()) return due;
+    // attempts doubles as a version: of two dispatchers claiming the same entry, one wins
+    var until = Timestamp.from(now.plus(lease));
+    int[] counts = jdbc.batchUpdate("update booking_outbox set attempts = attempts + 1, available_at = ? where id = ? and attempts = ?",
+        due.stream().map(c -> new Object[] {until, c.id(), c.attempts()}).toList());
+    var won = new ArrayList<Claimed>(due.size());
+    for (int i = 0; i < due.size(); i++) {
+      var c = due.get(i);
+      if (counts[i] != 0) won.add(new Claimed(c.id(), c.attempts() + 1, c.event()));
+    }
+    return won;
+  }
+
+  private void delete(List<Claimed> batch) {
+    var in = String.join(",", Collections.nCopies(batch.size(), "?"));
+    jdbc.update("delete from booking_outbox where id in (" + in + ")", batch.stream().map(Claimed::id).toArray());
+  }
+
+  /** Backs the batch off, or parks entries that have used up their attempts; returns the number parked. */
+  private int reschedule(String handler, List<Claimed> batch, Exception cause) {
+    var now = clock.instant();
+    var error = String.valueOf(cause);
+    if (error.length() > 500) error = error.substring(0, 500);
+    var args = new ArrayList<Object[]>(batch.size());
+    int parked = 0;
+    for (var c : batch) {
+      Timestamp next = null;
+      if (c.attempts() < maxAttempts) next = Timestamp.from(now.plus(backoff(c.attempts())));
+      else parked++;
+      args.add(new Object[] {next, error, c.id()});
+    }
+    jdbc.batchUpdate("update booking_outbox set available_at = ?, last_error = ? where id = ?", args);
+    if (parked > 0) {
+      log.error("Booking event handler '{}' gave up on {} events after {} attempts: {}", handler, parked, maxAttempts, error);
+    } else {
+      log.warn("Booking event handler '{}' failed a batch of {}, retrying: {}", handler, batch.size(), error);
+    }
+    return parked;
+  }
+
+  /** backoff * 2^(attempts-1), capped at max-backoff. */
+  Duration backoff(int attempts) {
+    var delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+    return delay.compareTo(maxBackoff) > 0 || delay.isNegative() ? maxBackoff : delay;
+  }
+}
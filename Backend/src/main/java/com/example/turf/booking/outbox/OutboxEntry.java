@@ -0,0 +1,69 @@
+package com.example.turf.booking.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One booking event pending for one handler, inserted in the transaction that wrote
+ * the booking and deleted once the handler has taken it. No foreign key to
+ * {@code bookings}: the archiver may move a booking before its events drain.
+ */
+@Entity
+@Table(
+  name = "booking_outbox",
+  // the dispatcher's claim: due entries of one handler, oldest first
+  indexes = @Index(name = "idx_outbox_handler_due", columnList = "handler, available_at, id")
+)
+@Getter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OutboxEntry {
+  /** Pooled sequence, so one booking's entries (and a bulk booking's) go out in one JDBC batch. */
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_outbox_seq")
+  @SequenceGenerator(name = "booking_outbox_seq", sequenceName = "booking_outbox_seq", allocationSize = 50)
+  private Long id;
+
+  @Column(nullable=false, length=64)
+  private String handler;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable=false, length=20)
+  private BookingEventType type;
+
+  @Column(name="booking_id", nullable=false)
+  private Long bookingId;
+
+  @Column(name="turf_id", nullable=false)
+  private Long turfId;
+
+  @Column(name="user_id")
+  private Long userId;
+
+  @Column(name="booking_date", nullable=false)
+  private LocalDate bookingDate;
+
+  @Column(name="booking_time", nullable=false, length=20)
+  private String bookingTime;
+
+  @Column(name="confirmation_code", length=36)
+  private String confirmationCode;
+
+  @Column(name="created_at", nullable=false)
+  private Instant createdAt;
+
+  /** Deliveries started so far; also the claim's version check. */
+  @Column(nullable=false)
+  private int attempts;
+
+  /** When the entry may next be claimed; null once parked after too many failed attempts. */
+  @Column(name="available_at")
+  private Instant availableAt;
+
+  @Column(name="last_error", length=500)
+  private String lastError;
+}
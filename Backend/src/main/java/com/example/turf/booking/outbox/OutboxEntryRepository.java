@@ -0,0 +1,5 @@
+package com.example.turf.booking.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxEntryRepository extends JpaRepository<OutboxEntry, Long> {}
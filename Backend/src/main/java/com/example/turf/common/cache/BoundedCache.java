@@ -0,0 +1,144 @@
+package com.example.turf.common.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Small LRU cache bounded by total weight (e.g. number of DTOs held) rather than by
+ * entry count. Values are loaded outside the lock; a load that races with an
+ * invalidation is returned to its caller but not cached. Guarded by a ReentrantLock
+ * rather than a monitor so virtual threads waiting on it don't pin their carrier.
+ */
+public class BoundedCache<K, V> {
+  private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+  private final ReentrantLock lock = new ReentrantLock();
+  private final ToIntFunction<V> weigher;
+  private final long maxWeight;
+  private long weight;
+  private long generation;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public BoundedCache(long maxWeight, ToIntFunction<V> weigher) {
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+  }
+
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    long gen;
+    lock.lock();
+    try {
+      V cached = map.get(key);
+      if (cached != null) {
+        hits.increment();
+        return cached;
+      }
+      misses.increment();
+      gen = generation;
+    } finally {
+      lock.unlock();
+    }
+    V loaded = loader.apply(key);
+    if (loaded != null) locked(() -> putIfCurrent(key, loaded, gen));
+    return loaded;
+  }
+
+  public V getIfPresent(K key) {
+    lock.lock();
+    try {
+      V cached = map.get(key);
+      if (cached != null) hits.increment(); else misses.increment();
+      return cached;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void put(K key, V value) {
+    locked(() -> putIfCurrent(key, value, generation));
+  }
+
+  /** Caches a value read after {@link #generation()} returned {@code gen}, unless something was invalidated since. */
+  public void put(K key, V value, long gen) {
+    locked(() -> putIfCurrent(key, value, gen));
+  }
+
+  /** Take this before reading values to {@link #put(Object, Object, long)} later. */
+  public long generation() {
+    lock.lock();
+    try {
+      return generation;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void invalidate(K key) {
+    locked(() -> {
+      generation++;
+      V old = map.remove(key);
+      if (old != null) weight -= weigher.applyAsInt(old);
+    });
+  }
+
+  /** Drops every entry whose value matches, e.g. all cached sessions of one user. */
+  public void invalidateIf(Predicate<? super V> matches) {
+    locked(() -> {
+      generation++;
+      for (Iterator<V> it = map.values().iterator(); it.hasNext(); ) {
+        V value = it.next();
+        if (!matches.test(value)) continue;
+        it.remove();
+        weight -= weigher.applyAsInt(value);
+      }
+    });
+  }
+
+  public void invalidateAll() {
+    locked(() -> {
+      generation++;
+      map.clear();
+      weight = 0;
+    });
+  }
+
+  public CacheStats stats() {
+    lock.lock();
+    try {
+      return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), map.size(), weight);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void locked(Runnable action) {
+    lock.lock();
+    try {
+      action.run();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Caller holds the lock. */
+  private void putIfCurrent(K key, V value, long gen) {
+    int w = weigher.applyAsInt(value);
+    if (gen != generation || w > maxWeight) return;
+    V old = map.put(key, value);
+    weight += w - (old == null ? 0 : weigher.applyAsInt(old));
+    for (Iterator<V> it = map.values().iterator(); weight > maxWeight && it.hasNext(); ) {
+      V eldest = it.next();
+      if (eldest == value) continue;
+      it.remove();
+      weight -= weigher.applyAsInt(eldest);
+      evictions.increment();
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.turf.common.cache;
+
+public record CacheStats(long hits, long misses, long evictions, int size, long weight) {
+  public double hitRate() {
+    long total = hits + misses;
+    return total == 0 ? 0 : (double) hits / total;
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.turf.common.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application DataSource in a {@link GatedDataSource} sized to the Hikari
+ * pool, after {@link PoolSizing} has had its say. Enabled by the virtual-threads
+ * profile (app.db.connection-gate.enabled).
+ */
+@Component
+@ConditionalOnProperty(name = "app.db.connection-gate.enabled", havingValue = "true")
+public class ConnectionGate implements BeanPostProcessor {
+  /** 0: one permit per pooled connection. */
+  @Value("${app.db.connection-gate.permits:0}")
+  private int permits;
+
+  @Value("${app.db.connection-gate.timeout:PT30S}")
+  private Duration timeout;
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof DataSource ds && !(bean instanceof GatedDataSource) && "dataSource".equals(beanName)) {
+      int n = permits > 0 ? permits : ds instanceof HikariDataSource pool ? pool.getMaximumPoolSize() : 10;
+      return new GatedDataSource(ds, n, timeout);
+    }
+    return bean;
+  }
+}
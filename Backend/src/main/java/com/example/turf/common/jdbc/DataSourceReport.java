@@ -0,0 +1,138 @@
+package com.example.turf.common.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Logs the database settings actually in effect once the app is up: pool, driver
+ * statement caching and batching, Hibernate batching, and each entity's id
+ * generator. Settings spread over profiles, URL parameters and defaults are easy
+ * to get wrong silently; an IDENTITY id, for one, quietly turns off insert batching.
+ */
+@Slf4j
+@Component @RequiredArgsConstructor
+public class DataSourceReport {
+  private static final List<String> DRIVER_KEYS = List.of(
+      "reWriteBatchedInserts", "prepareThreshold", "preparedStatementCacheQueries",
+      "preparedStatementCacheSizeMiB", "defaultRowFetchSize", "tcpKeepAlive");
+  private static final List<String> HIBERNATE_KEYS = List.of(
+      "hibernate.jdbc.batch_size", "hibernate.order_inserts", "hibernate.order_updates",
+      "hibernate.jdbc.fetch_size", "hibernate.query.in_clause_parameter_padding",
+      "hibernate.query.plan_cache_max_size", "hibernate.format_sql", "hibernate.show_sql");
+
+  private final DataSource dataSource;
+  private final EntityManagerFactory emf;
+  private final ObjectProvider<PoolSizing> sizing;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void report() {
+    log.info("Effective database settings:\n  {}", String.join("\n  ", lines()));
+    unbatchedEntities().forEach(e ->
+        log.warn("Inserts of {} are not JDBC-batched: its id is generated by the database (IDENTITY)", e));
+  }
+
+  public List<String> lines() {
+    var lines = new ArrayList<String>();
+    var pool = unwrap(HikariDataSource.class);
+    if (pool != null) {
+      lines.add("pool: " + pool.getPoolName() + " max=" + pool.getMaximumPoolSize() + " minIdle=" + pool.getMinimumIdle()
+          + " connectionTimeout=" + pool.getConnectionTimeout() + "ms idleTimeout=" + pool.getIdleTimeout()
+          + "ms maxLifetime=" + pool.getMaxLifetime() + "ms keepalive=" + pool.getKeepaliveTime() + "ms");
+      lines.add("driver: " + format(driverSettings(pool), DRIVER_KEYS));
+    } else {
+      lines.add("pool: " + dataSource.getClass().getSimpleName() + " (not Hikari)");
+    }
+    sizing.ifAvailable(s -> lines.add(s.result()
+        .map(r -> "pool sizing: round trip " + PoolSizing.millis(r.roundTrip()) + " -> " + r.size()
+            + " connections (configured " + r.configured() + ")")
+        .orElse("pool sizing: latency not measured, configured size kept")));
+    if (dataSource instanceof GatedDataSource gate) lines.add("connection gate: " + gate.stats().permits() + " permits");
+    lines.add("hibernate: " + format(hibernateSettings(), HIBERNATE_KEYS));
+    lines.add("ids: " + idGenerators());
+    return lines;
+  }
+
+  /** Driver properties from the JDBC URL, overridden by spring.datasource.hikari.data-source-properties. */
+  static Map<String, String> driverSettings(HikariDataSource pool) {
+    var settings = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+    var url = pool.getJdbcUrl();
+    int q = url == null ? -1 : url.indexOf('?');
+    if (q >= 0) {
+      for (var param : url.substring(q + 1).split("&")) {
+        int eq = param.indexOf('=');
+        if (eq > 0) settings.put(param.substring(0, eq), param.substring(eq + 1));
+      }
+    }
+    pool.getDataSourceProperties().forEach((k, v) -> settings.put(k.toString(), v.toString()));
+    return settings;
+  }
+
+  private Map<String, String> hibernateSettings() {
+    var settings = new LinkedHashMap<String, String>();
+    emf.getProperties().forEach((k, v) -> { if (v != null) settings.put(k, v.toString()); });
+    return settings;
+  }
+
+  private static String format(Map<String, String> settings, List<String> keys) {
+    var parts = new ArrayList<String>();
+    for (var key : keys) {
+      var name = key.startsWith("hibernate.") ? key.substring("hibernate.".length()) : key;
+      parts.add(name + "=" + settings.getOrDefault(key, "(default)"));
+    }
+    return String.join(" ", parts);
+  }
+
+  private String idGenerators() {
+    var parts = new ArrayList<String>();
+    metamodel().forEachEntityDescriptor(p -> {
+      var name = p.getMappedClass().getSimpleName();
+      if (p.getGenerator() instanceof SequenceStyleGenerator seq) {
+        parts.add(name + "=sequence(" + seq.getDatabaseStructure().getPhysicalName().render()
+            + ", " + seq.getDatabaseStructure().getIncrementSize() + ")");
+      } else if (p.getGenerator() != null && p.getGenerator().generatedOnExecution()) {
+        parts.add(name + "=identity");
+      } else {
+        parts.add(name + "=assigned");
+      }
+    });
+    parts.sort(null);
+    return String.join(" ", parts);
+  }
+
+  List<String> unbatchedEntities() {
+    var names = new ArrayList<String>();
+    metamodel().forEachEntityDescriptor(p -> {
+      if (p.getGenerator() != null && p.getGenerator().generatedOnExecution()) names.add(p.getMappedClass().getSimpleName());
+    });
+    return names;
+  }
+
+  private MappingMetamodel metamodel() {
+    return emf.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+  }
+
+  private <T> T unwrap(Class<T> type) {
+    try {
+      return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+    } catch (SQLException e) {
+      return null;
+    }
+  }
+}
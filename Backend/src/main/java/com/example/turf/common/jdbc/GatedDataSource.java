@@ -0,0 +1,97 @@
+package com.example.turf.common.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits at most {@code permits} concurrent connection holders, in arrival order,
+ * before they reach the pool. With virtual threads there is no request-thread cap
+ * left in front of Hikari, and thousands of borrowers spinning on its handoff queue
+ * cost more than a fair semaphore park. A permit is returned when the connection is
+ * closed; waiting longer than {@code timeout} fails like a pool timeout would.
+ */
+public class GatedDataSource extends DelegatingDataSource {
+  public record Stats(int permits, int available, int waiting, long timeouts) {}
+
+  private final Semaphore gate;
+  private final int permits;
+  private final long timeoutNanos;
+  private final LongAdder timeouts = new LongAdder();
+
+  public GatedDataSource(DataSource target, int permits, Duration timeout) {
+    super(target);
+    this.gate = new Semaphore(permits, true);
+    this.permits = permits;
+    this.timeoutNanos = timeout.toNanos();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    return gated(() -> obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    return gated(() -> obtainTargetDataSource().getConnection(username, password));
+  }
+
+  public Stats stats() {
+    return new Stats(permits, gate.availablePermits(), gate.getQueueLength(), timeouts.sum());
+  }
+
+  private interface ConnectionSource {
+    Connection get() throws SQLException;
+  }
+
+  private void acquire() throws SQLException {
+    try {
+      if (gate.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) return;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted waiting for a connection permit", e);
+    }
+    timeouts.increment();
+    throw new SQLTransientConnectionException("No connection permit within " + Duration.ofNanos(timeoutNanos));
+  }
+
+  private Connection gated(ConnectionSource source) throws SQLException {
+    Connection target;
+    try {
+      target = source.get();
+    } catch (SQLException | RuntimeException e) {
+      gate.release();
+      throw e;
+    }
+    var released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+        (proxy, method, args) -> {
+          if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+            try {
+              return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+              throw e.getCause();
+            } finally {
+              gate.release();
+            }
+          }
+          try {
+            return method.invoke(target, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+        });
+  }
+}
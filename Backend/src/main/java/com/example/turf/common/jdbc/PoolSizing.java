@@ -0,0 +1,112 @@
+package com.example.turf.common.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Sizes the Hikari pool from the database round trip measured at startup, before the
+ * pool opens. By Little's law a pool needs (transactions per second) x (time each one
+ * holds a connection) connections; against a remote database that hold time is
+ * dominated by round trips, so a fixed size is either too small across regions or
+ * far too large next to the database. Enabled by app.db.pool.auto-size.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.db.pool.auto-size", havingValue = "true")
+public class PoolSizing implements BeanPostProcessor, Ordered {
+  public record Result(Duration roundTrip, int configured, int size) {}
+
+  private final double targetTps;
+  private final int statementsPerTx;
+  private final double headroom;
+  private final int minSize;
+  private final int maxSize;
+  private final int samples;
+  private volatile Result result;
+
+  public PoolSizing(@Value("${app.db.pool.target-tps:200}") double targetTps,
+                    @Value("${app.db.pool.statements-per-tx:4}") int statementsPerTx,
+                    @Value("${app.db.pool.headroom:1.5}") double headroom,
+                    @Value("${app.db.pool.min-size:4}") int minSize,
+                    @Value("${app.db.pool.max-size:40}") int maxSize,
+                    @Value("${app.db.pool.samples:20}") int samples) {
+    if (minSize < 1 || maxSize < minSize) throw new IllegalArgumentException("need 1 <= app.db.pool.min-size <= max-size");
+    this.targetTps = targetTps;
+    this.statementsPerTx = statementsPerTx;
+    this.headroom = headroom;
+    this.minSize = minSize;
+    this.maxSize = maxSize;
+    this.samples = Math.max(1, samples);
+  }
+
+  /** Runs before {@link ConnectionGate}, which sizes its permits from the pool. */
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof HikariDataSource pool && pool.getHikariPoolMXBean() == null && pool.getJdbcUrl() != null) {
+      try {
+        var rtt = measureRoundTrip(pool);
+        int size = size(rtt);
+        result = new Result(rtt, pool.getMaximumPoolSize(), size);
+        pool.setMaximumPoolSize(size);
+        if (pool.getMinimumIdle() > size) pool.setMinimumIdle(size);
+        log.info("Pool sized to {} connections (configured {}) from a {} database round trip",
+            size, result.configured(), millis(rtt));
+      } catch (SQLException e) {
+        log.warn("Could not measure database latency, keeping maximum-pool-size={}: {}",
+            pool.getMaximumPoolSize(), e.getMessage());
+      }
+    }
+    return bean;
+  }
+
+  /** Connections needed to sustain the target rate at this round trip, within [min, max]. */
+  int size(Duration roundTrip) {
+    double busy = targetTps * statementsPerTx * (roundTrip.toNanos() / 1e9) * headroom;
+    return (int) Math.max(minSize, Math.min(maxSize, Math.ceil(busy)));
+  }
+
+  static String millis(Duration d) {
+    return String.format(Locale.ROOT, "%.2f ms", d.toNanos() / 1e6);
+  }
+
+  public Optional<Result> result() {
+    return Optional.ofNullable(result);
+  }
+
+  /** Median of {@code samples} trivial queries on one throwaway connection, after a warm-up. */
+  private Duration measureRoundTrip(HikariDataSource pool) throws SQLException {
+    var props = new Properties();
+    props.putAll(pool.getDataSourceProperties());
+    if (pool.getUsername() != null) props.setProperty("user", pool.getUsername());
+    if (pool.getPassword() != null) props.setProperty("password", pool.getPassword());
+    try (var conn = DriverManager.getConnection(pool.getJdbcUrl(), props); var st = conn.createStatement()) {
+      st.execute("select 1");
+      long[] nanos = new long[samples];
+      for (int i = 0; i < samples; i++) {
+        long start = System.nanoTime();
+        st.execute("select 1");
+        nanos[i] = System.nanoTime() - start;
+      }
+      Arrays.sort(nanos);
+      return Duration.ofNanos(nanos[samples / 2]);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package com.example.turf.common.metrics;
+
+import com.example.turf.booking.ConfirmationLookup;
+import com.example.turf.booking.hold.SlotHoldService;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.outbox.OutboxDispatcher;
+import com.example.turf.common.cache.CacheStats;
+import com.example.turf.common.jdbc.GatedDataSource;
+import com.example.turf.common.ratelimit.RateLimits;
+import com.example.turf.common.ratelimit.TokenBucketLimiter;
+import com.example.turf.security.AuthenticatedTokenCache;
+import com.example.turf.security.PasswordHashing;
+import com.example.turf.security.TokenDenylist;
+import com.example.turf.turf.TurfCatalog;
+import com.example.turf.turf.search.TurfSearchIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Application metrics beyond what actuator instruments on its own (HTTP requests,
+ * Hikari, JVM, repository invocations and {@code @Timed} service methods). Nothing
+ * here exists unless app.metrics.enabled is set, so when metrics are off there is
+ * no inspector, filter, encoder wrapper or service proxy in the request path.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.metrics.enabled", havingValue = "true")
+public class MetricsConfig {
+
+  @Bean
+  public StatementCounter statementCounter() {
+    return new StatementCounter();
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer statementInspector(StatementCounter counter) {
+    return props -> props.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+  }
+
+  /** Outermost filter, so statements made during authentication are counted too. */
+  @Bean
+  public FilterRegistrationBean<StatementCountFilter> statementCountFilter(StatementCounter counter, MeterRegistry registry) {
+    var registration = new FilterRegistrationBean<>(new StatementCountFilter(counter, registry));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return registration;
+  }
+
+  @Bean
+  public static BeanPostProcessor timedPasswordEncoder(ObjectProvider<MeterRegistry> registry) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof PasswordEncoder encoder && !(bean instanceof TimedPasswordEncoder)
+            ? new TimedPasswordEncoder(encoder, registry.getObject()) : bean;
+      }
+    };
+  }
+
+  @Bean
+  public MeterBinder cacheMetrics(TurfCatalog catalog, ConfirmationLookup lookup, AuthenticatedTokenCache tokens) {
+    return registry -> {
+      bindCache(registry, "turf.catalog", catalog, TurfCatalog::stats);
+      bindCache(registry, "booking.lookup", lookup, ConfirmationLookup::stats);
+      bindCache(registry, "jwt.principals", tokens, AuthenticatedTokenCache::stats);
+    };
+  }
+
+  // the names and tags Micrometer's own cache binders use, so stock dashboards apply.
+  // Meters hold their source weakly: it must be the bean itself, not a method reference.
+  private static <T> void bindCache(MeterRegistry registry, String name, T cache, Function<T, CacheStats> stats) {
+    var tags = Tags.of("cache", name);
+    FunctionCounter.builder("cache.gets", cache, c -> stats.apply(c).hits()).tags(tags).tag("result", "hit").register(registry);
+    FunctionCounter.builder("cache.gets", cache, c -> stats.apply(c).misses()).tags(tags).tag("result", "miss").register(registry);
+    FunctionCounter.builder("cache.evictions", cache, c -> stats.apply(c).evictions()).tags(tags).register(registry);
+    Gauge.builder("cache.size", cache, c -> stats.apply(c).size()).tags(tags).register(registry);
+  }
+
+  @Bean
+  public MeterBinder searchMetrics(TurfSearchIndex search) {
+    return registry -> gauge(registry, "turf.search.indexed", search, TurfSearchIndex::size);
+  }
+
+  @Bean
+  public MeterBinder bookingMetrics(OccupancyIndex occupancy, SlotHoldService holds) {
+    return registry -> {
+      gauge(registry, "booking.occupancy.days", occupancy, o -> o.stats().days());
+      gauge(registry, "booking.occupancy.days.ready", occupancy, o -> o.stats().readyDays());
+      gauge(registry, "booking.occupancy.entries", occupancy, o -> o.stats().entries());
+      Gauge.builder("booking.occupancy.memory", occupancy, o -> o.stats().estimatedBytes())
+          .baseUnit("bytes").register(registry);
+      gauge(registry, "booking.holds.active", holds, SlotHoldService::active);
+    };
+  }
+
+  @Bean
+  public MeterBinder outboxMetrics(OutboxDispatcher outbox) {
+    return registry -> {
+      Gauge.builder("booking.outbox.lag", outbox, o -> o.lag().toMillis() / 1000.0).baseUnit("seconds").register(registry);
+      for (var lane : outbox.stats()) {
+        var handler = lane.handler();
+        Gauge.builder("booking.outbox.in_flight", outbox, o -> stat(o, handler).inFlight()).tag("handler", handler).register(registry);
+        FunctionCounter.builder("booking.outbox.batches", outbox, o -> stat(o, handler).batches()).tag("handler", handler).register(registry);
+        FunctionCounter.builder("booking.outbox.events", outbox, o -> stat(o, handler).delivered())
+            .tag("handler", handler).tag("result", "delivered").register(registry);
+        FunctionCounter.builder("booking.outbox.events", outbox, o -> stat(o, handler).failed())
+            .tag("handler", handler).tag("result", "failed").register(registry);
+        FunctionCounter.builder("booking.outbox.events", outbox, o -> stat(o, handler).parked())
+            .tag("handler", handler).tag("result", "parked").register(registry);
+      }
+    };
+  }
+
+  @Bean
+  public MeterBinder authMetrics(PasswordHashing hashing, TokenDenylist denylist, RateLimits limits) {
+    return registry -> {
+      gauge(registry, "auth.hashing.active", hashing, h -> h.stats().active());
+      gauge(registry, "auth.hashing.queued", hashing, h -> h.stats().queued());
+      FunctionCounter.builder("auth.hashing.completed", hashing, h -> h.stats().completed()).register(registry);
+      FunctionCounter.builder("auth.hashing.rejected", hashing, h -> h.stats().rejected()).register(registry);
+      gauge(registry, "jwt.denylist.size", denylist, TokenDenylist::size);
+      for (var limiter : limits.stats()) {
+        var name = limiter.name();
+        ToDoubleFunction<RateLimits> allowed = l -> stat(l, name).allowed();
+        ToDoubleFunction<RateLimits> rejected = l -> stat(l, name).rejected();
+        FunctionCounter.builder("ratelimit.requests", limits, allowed).tag("limiter", name).tag("result", "allowed").register(registry);
+        FunctionCounter.builder("ratelimit.requests", limits, rejected).tag("limiter", name).tag("result", "rejected").register(registry);
+        Gauge.builder("ratelimit.keys", limits, l -> stat(l, name).keys()).tag("limiter", name).register(registry);
+      }
+    };
+  }
+
+  @Bean
+  public MeterBinder connectionGateMetrics(DataSource dataSource) {
+    return registry -> {
+      if (!(dataSource instanceof GatedDataSource gate)) return;
+      gauge(registry, "db.gate.available", gate, g -> g.stats().available());
+      gauge(registry, "db.gate.waiting", gate, g -> g.stats().waiting());
+      FunctionCounter.builder("db.gate.timeouts", gate, g -> g.stats().timeouts()).register(registry);
+    };
+  }
+
+  private static <T> void gauge(MeterRegistry registry, String name, T source, ToDoubleFunction<T> value) {
+    Gauge.builder(name, source, value).register(registry);
+  }
+
+  private static OutboxDispatcher.Stats stat(OutboxDispatcher outbox, String handler) {
+    return outbox.stats().stream().filter(s -> s.handler().equals(handler)).findFirst().orElseThrow();
+  }
+
+  private static TokenBucketLimiter.Stats stat(RateLimits limits, String name) {
+    return limits.stats().stream().filter(s -> s.name().equals(name)).findFirst().orElseThrow();
+  }
+}
@@ -0,0 +1,28 @@
+package com.example.turf.common.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #start()} and {@link #stop()}; outside that window it only passes SQL through.
+ */
+public class StatementCounter implements StatementInspector {
+  private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+  @Override
+  public String inspect(String sql) {
+    int[] count = COUNT.get();
+    if (count != null) count[0]++;
+    return sql;
+  }
+
+  public void start() {
+    COUNT.set(new int[1]);
+  }
+
+  public int stop() {
+    int[] count = COUNT.get();
+    COUNT.remove();
+    return count == null ? 0 : count[0];
+  }
+}
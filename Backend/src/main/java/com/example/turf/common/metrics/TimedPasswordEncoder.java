@@ -0,0 +1,41 @@
+package com.example.turf.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/** Times the password hashing itself, apart from the queueing and I/O around it. */
+public class TimedPasswordEncoder implements PasswordEncoder {
+  private final PasswordEncoder delegate;
+  private final Timer encode;
+  private final Timer matches;
+
+  public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.encode = timer(registry, "encode");
+    this.matches = timer(registry, "matches");
+  }
+
+  private static Timer timer(MeterRegistry registry, String operation) {
+    return Timer.builder("auth.password.hash")
+        .description("Password hashing and verification")
+        .tag("operation", operation)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return encode.record(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return Boolean.TRUE.equals(matches.record(() -> delegate.matches(rawPassword, encodedPassword)));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+}
@@ -0,0 +1,16 @@
+package com.example.turf.common.ratelimit;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/** A request refused by a {@link TokenBucketLimiter}; mapped to 429 with Retry-After. */
+@Getter
+public class RateLimitedException extends RuntimeException {
+  private final Duration retryAfter;
+
+  public RateLimitedException(String limiter, Duration retryAfter) {
+    super("Too many requests (" + limiter + "), please slow down");
+    this.retryAfter = retryAfter;
+  }
+}
@@ -0,0 +1,57 @@
+package com.example.turf.common.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The application's limiters, checked in controllers before any hashing or database
+ * work. Each is a burst capacity plus one token per refill period, per key. The client
+ * address is {@link HttpServletRequest#getRemoteAddr()}, which Tomcat resolves from
+ * X-Forwarded-For past trusted proxies (server.forward-headers-strategy=native), so a
+ * few load balancer addresses don't share one bucket.
+ */
+@Component @Getter
+public class RateLimits {
+  /** Login and register attempts per client address. */
+  private final TokenBucketLimiter authByIp;
+  /** Login attempts per account, whatever address they come from. */
+  private final TokenBucketLimiter loginByEmail;
+  /** Booking and hold writes per client address. */
+  private final TokenBucketLimiter bookingByIp;
+
+  public RateLimits(
+      @Value("${app.ratelimit.auth-ip.capacity:20}") int authIpCapacity,
+      @Value("${app.ratelimit.auth-ip.refill:PT3S}") Duration authIpRefill,
+      @Value("${app.ratelimit.login-email.capacity:5}") int emailCapacity,
+      @Value("${app.ratelimit.login-email.refill:PT30S}") Duration emailRefill,
+      @Value("${app.ratelimit.booking-ip.capacity:30}") int bookingCapacity,
+      @Value("${app.ratelimit.booking-ip.refill:PT2S}") Duration bookingRefill,
+      @Value("${app.ratelimit.max-keys:100000}") int maxKeys) {
+    this.authByIp = new TokenBucketLimiter("auth-ip", authIpCapacity, authIpRefill, maxKeys);
+    this.loginByEmail = new TokenBucketLimiter("login-email", emailCapacity, emailRefill, maxKeys);
+    this.bookingByIp = new TokenBucketLimiter("booking-ip", bookingCapacity, bookingRefill, maxKeys);
+  }
+
+  public void checkLogin(HttpServletRequest request, String email) {
+    authByIp.check(request.getRemoteAddr());
+    if (email != null) loginByEmail.check(email.trim().toLowerCase(Locale.ROOT));
+  }
+
+  public void checkRegister(HttpServletRequest request) {
+    authByIp.check(request.getRemoteAddr());
+  }
+
+  public void checkBooking(HttpServletRequest request) {
+    bookingByIp.check(request.getRemoteAddr());
+  }
+
+  public List<TokenBucketLimiter.Stats> stats() {
+    return List.of(authByIp.stats(), loginByEmail.stats(), bookingByIp.stats());
+  }
+}
@@ -0,0 +1,111 @@
+package com.example.turf.common.ratelimit;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets: up to {@code capacity} requests in a burst, refilled one
+ * token every {@code refillEvery}. Each bucket is a single long holding its
+ * theoretical arrival time (GCRA), updated with CAS, so a check never blocks
+ * another check of the same key. Keys live in striped LRU maps bounded to
+ * {@code maxKeys} in total; a key evicted while throttled simply starts over full.
+ */
+public class TokenBucketLimiter {
+  public record Stats(String name, long allowed, long rejected, long evictions, int keys) {}
+
+  private static final int STRIPES = 64;
+
+  private final String name;
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final LongSupplier nanoClock;
+  private final Stripe[] stripes = new Stripe[STRIPES];
+
+  private final LongAdder allowed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public TokenBucketLimiter(String name, int capacity, Duration refillEvery, int maxKeys) {
+    this(name, capacity, refillEvery, maxKeys, System::nanoTime);
+  }
+
+  TokenBucketLimiter(String name, int capacity, Duration refillEvery, int maxKeys, LongSupplier nanoClock) {
+    if (capacity < 1 || refillEvery.isNegative() || refillEvery.isZero()) {
+      throw new IllegalArgumentException("Invalid rate limit for " + name);
+    }
+    this.name = name;
+    this.intervalNanos = refillEvery.toNanos();
+    this.burstNanos = (capacity - 1) * intervalNanos;
+    this.nanoClock = nanoClock;
+    int perStripe = Math.max(1, maxKeys / STRIPES);
+    for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe(perStripe);
+  }
+
+  /** Takes a token for the key; 0 if allowed, otherwise nanos until one is available. */
+  public long tryAcquire(String key) {
+    AtomicLong bucket = bucket(key);
+    long now = nanoClock.getAsLong();
+    while (true) {
+      long tat = bucket.get();
+      long start = tat - now < 0 ? now : tat;
+      long wait = start - now - burstNanos;
+      if (wait > 0) {
+        rejected.increment();
+        return wait;
+      }
+      if (bucket.compareAndSet(tat, start + intervalNanos)) {
+        allowed.increment();
+        return 0;
+      }
+    }
+  }
+
+  /** Throws {@link RateLimitedException} when the key is out of tokens. */
+  public void check(String key) {
+    long wait = tryAcquire(key);
+    if (wait > 0) throw new RateLimitedException(name, Duration.ofNanos(wait));
+  }
+
+  public Stats stats() {
+    int keys = 0;
+    for (Stripe s : stripes) {
+      s.lock.lock();
+      try { keys += s.size(); } finally { s.lock.unlock(); }
+    }
+    return new Stats(name, allowed.sum(), rejected.sum(), evictions.sum(), keys);
+  }
+
+  private AtomicLong bucket(String key) {
+    Stripe stripe = stripes[(key.hashCode() ^ (key.hashCode() >>> 16)) & (STRIPES - 1)];
+    stripe.lock.lock();
+    try {
+      // a fresh bucket starts full: its arrival time lies a whole burst in the past
+      return stripe.computeIfAbsent(key, k -> new AtomicLong(nanoClock.getAsLong() - burstNanos - intervalNanos));
+    } finally {
+      stripe.lock.unlock();
+    }
+  }
+
+  /** Guarded by its own ReentrantLock, not a monitor, so virtual threads don't pin on it. */
+  private final class Stripe extends LinkedHashMap<String, AtomicLong> {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxKeys;
+
+    Stripe(int maxKeys) {
+      super(16, 0.75f, true);
+      this.maxKeys = maxKeys;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, AtomicLong> eldest) {
+      if (size() <= maxKeys) return false;
+      evictions.increment();
+      return true;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.example.turf.common.schema;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tables that moved from IDENTITY to a pooled sequence already hold ids the new
+ * sequence knows nothing about. Before anything is inserted, move each sequence past
+ * the table's max id. Runs after the EntityManagerFactory has applied the schema.
+ * On Postgres the check and the move happen under a transaction-scoped advisory lock,
+ * so instances starting together can't each probe and then restart the sequence
+ * behind ids another one has already handed out.
+ */
+@Slf4j
+@Component
+public class IdSequenceAligner implements InitializingBean {
+  private record Aligned(String table, String sequence, int allocationSize) {}
+
+  private static final Aligned[] SEQUENCES = {
+    new Aligned("bookings", "bookings_seq", 50),
+    new Aligned("turfs", "turfs_seq", 50),
+    new Aligned("users", "users_seq", 50),
+  };
+
+  /** Arbitrary but fixed; shared by every instance of the app. */
+  static final long LOCK_KEY = 0x7475_7266_7365_7100L;
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final Dialect dialect;
+
+  public IdSequenceAligner(JdbcTemplate jdbc, TransactionTemplate tx, EntityManagerFactory emf) {
+    this.jdbc = jdbc;
+    this.tx = tx;
+    this.dialect = emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    tx.executeWithoutResult(status -> {
+      if (dialect instanceof PostgreSQLDialect) jdbc.queryForList("select pg_advisory_xact_lock(?)", LOCK_KEY);
+      align();
+    });
+  }
+
+  private void align() {
+    for (var s : SEQUENCES) {
+      Long maxId = jdbc.queryForObject("select coalesce(max(id), 0) from " + s.table(), Long.class);
+      // an empty table needs no move, and probing would burn the sequence's first block
+      if (maxId == null || maxId == 0) continue;
+      Long next = jdbc.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(s.sequence()), Long.class);
+      if (next != null && next - s.allocationSize() < maxId) {
+        long restart = maxId + s.allocationSize() + 1;
+        jdbc.execute("alter sequence " + s.sequence() + " restart with " + restart);
+        log.info("Moved sequence {} past max({}.id)={} to {}", s.sequence(), s.table(), maxId, restart);
+      }
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.turf.common.time;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * The one clock request handling reads "today" from, so a controller clamping a date
+ * and the service it hands that date to agree on the zone and can be fixed together.
+ */
+@Configuration
+public class ClockConfig {
+
+  @Bean
+  public Clock clock() {
+    return Clock.systemDefaultZone();
+  }
+}
@@ -0,0 +1,4 @@
+package com.example.turf.common.web;
+
+/** Error body in the same {statusCode, ...} shape the UI already reads from our responses. */
+public record ApiError(int statusCode, String message) {}
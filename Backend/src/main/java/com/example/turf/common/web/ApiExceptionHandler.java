@@ -0,0 +1,48 @@
+package com.example.turf.common.web;
+
+import com.example.turf.auth.DuplicateEmailException;
+import com.example.turf.booking.BookingConflictException;
+import com.example.turf.common.ratelimit.RateLimitedException;
+import com.example.turf.security.HashingSaturatedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice @RequiredArgsConstructor
+public class ApiExceptionHandler {
+  private final ObjectProvider<MeterRegistry> registry;
+
+  @ExceptionHandler(BookingConflictException.class)
+  public ResponseEntity<ApiError> conflict(BookingConflictException e) {
+    count("booking.conflicts");
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiError(HttpStatus.CONFLICT.value(), e.getMessage()));
+  }
+
+  @ExceptionHandler(HashingSaturatedException.class)
+  public ResponseEntity<ApiError> saturated(HashingSaturatedException e) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+        .body(new ApiError(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+  }
+
+  @ExceptionHandler(RateLimitedException.class)
+  public ResponseEntity<ApiError> rateLimited(RateLimitedException e) {
+    long seconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+        .body(new ApiError(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage()));
+  }
+
+  @ExceptionHandler(DuplicateEmailException.class)
+  public ResponseEntity<ApiError> duplicateEmail(DuplicateEmailException e) {
+    count("auth.register.duplicate_email");
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiError(HttpStatus.CONFLICT.value(), e.getMessage()));
+  }
+
+  private void count(String name) {
+    registry.ifAvailable(r -> r.counter(name).increment());
+  }
+}
@@ -0,0 +1,107 @@
+package com.example.turf.security;
+
+import com.example.turf.common.cache.BoundedCache;
+import com.example.turf.common.cache.CacheStats;
+import com.example.turf.user.UserChangedEvent;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verified bearer tokens and the principal they resolve to, keyed by the SHA-256 of
+ * the token so raw credentials are never held as map keys. An entry lives until the
+ * token expires or app.jwt.cache.max-age passes, whichever is first; it is dropped
+ * early when its user row is updated or removed. Invalid tokens are not cached.
+ */
+@Component
+public class AuthenticatedTokenCache {
+  private record Entry(UserPrincipal principal, Claims claims, long expiresAtMillis) {}
+
+  private final JwtService jwt;
+  private final UserDetailsServiceImpl uds;
+  private final TokenDenylist denylist;
+  private final BoundedCache<String, Entry> cache;
+  private final long maxAgeMillis;
+  private final Clock clock;
+  private final LongAdder expired = new LongAdder();
+
+  @Autowired
+  public AuthenticatedTokenCache(JwtService jwt, UserDetailsServiceImpl uds, TokenDenylist denylist,
+                                 @Value("${app.jwt.cache.max-entries:10000}") long maxEntries,
+                                 @Value("${app.jwt.cache.max-age:PT5M}") Duration maxAge) {
+    this(jwt, uds, denylist, maxEntries, maxAge, Clock.systemUTC());
+  }
+
+  AuthenticatedTokenCache(JwtService jwt, UserDetailsServiceImpl uds, TokenDenylist denylist,
+                          long maxEntries, Duration maxAge, Clock clock) {
+    this.jwt = jwt;
+    this.uds = uds;
+    this.denylist = denylist;
+    this.cache = new BoundedCache<>(maxEntries, e -> 1);
+    this.maxAgeMillis = maxAge.toMillis();
+    this.clock = clock;
+  }
+
+  /** The principal behind a bearer token, or null if the token is invalid, expired, revoked or its user is gone. */
+  @Timed(value = "jwt.authenticate", histogram = true)
+  public UserPrincipal authenticate(String token) {
+    String key = hash(token);
+    Entry entry = cache.get(key, k -> verify(token));
+    if (entry != null && entry.expiresAtMillis() <= clock.millis()) {
+      expired.increment();
+      cache.invalidate(key);
+      entry = cache.get(key, k -> verify(token));
+    }
+    return entry == null || denylist.isRevoked(entry.claims()) ? null : entry.principal();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  /** Entries found past their expiry and re-verified. */
+  public long expiredHits() {
+    return expired.sum();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserChanged(UserChangedEvent event) {
+    cache.invalidateIf(e -> event.userId().equals(e.principal().user().getId()));
+  }
+
+  private Entry verify(String token) {
+    var claims = jwt.verify(token).orElse(null);
+    if (claims == null) return null;
+    UserPrincipal principal;
+    try {
+      principal = (UserPrincipal) uds.loadUserByUsername(claims.getSubject());
+    } catch (UsernameNotFoundException e) {
+      return null;
+    }
+    long now = clock.millis();
+    long expiresAt = now + maxAgeMillis;
+    if (claims.getExpiration() != null) expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+    return new Entry(principal, claims, expiresAt);
+  }
+
+  private static String hash(String token) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.turf.security;
+
+/** Thrown when the password hashing pool and its queue are both full. */
+public class HashingSaturatedException extends RuntimeException {
+  public HashingSaturatedException() {
+    super("Too many sign-ins in progress, please retry shortly");
+  }
+}
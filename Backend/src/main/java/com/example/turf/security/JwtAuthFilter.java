@@ -5,31 +5,51 @@ import jakarta.servlet.http.*;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
+/**
+ * Bearer-token authentication. With app.jwt.stateless=true the principal is built
+ * from the verified claims and the user table is never read; tokens issued before
+ * the uid claim existed still go through the cached user lookup.
+ */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
   @Autowired private JwtService jwt;
-  @Autowired private UserDetailsServiceImpl uds;
+  @Autowired private AuthenticatedTokenCache tokens;
+  @Autowired private TokenDenylist denylist;
+  @Value("${app.jwt.stateless:false}") private boolean stateless;
+  // async dispatches (streamed or CompletableFuture responses) skip this filter and read the context from here
+  private final SecurityContextRepository contexts = new RequestAttributeSecurityContextRepository();
 
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
       throws ServletException, IOException {
     String header = request.getHeader("Authorization");
     if (header != null && header.startsWith("Bearer ")) {
-      String token = header.substring(7);
-      if (jwt.isValid(token)) {
-        String username = jwt.username(token);
-        UserDetails user = uds.loadUserByUsername(username);
+      UserPrincipal user = authenticate(header.substring(7));
+      if (user != null) {
         var auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
         auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-        SecurityContextHolder.getContext().setAuthentication(auth);
+        var context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(auth);
+        SecurityContextHolder.setContext(context);
+        contexts.saveContext(context, request, response);
       }
     }
     chain.doFilter(request, response);
   }
+
+  private UserPrincipal authenticate(String token) {
+    if (!stateless) return tokens.authenticate(token);
+    var claims = jwt.verify(token).orElse(null);
+    if (claims == null || denylist.isRevoked(claims)) return null;
+    var user = UserPrincipal.fromClaims(claims);
+    return user != null ? user : tokens.authenticate(token);
+  }
 }
@@ -2,28 +2,47 @@ package com.example.turf.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.security.Key;
+import java.time.Clock;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class JwtService {
+  public static final String USER_ID = "uid";
+  public static final String ROLES = "roles";
+
   private final Key key;
+  private final JwtParser parser;
   private final long expirationMs;
+  private final Clock clock;
 
+  @Autowired
   public JwtService(
       @Value("${app.jwt.secret:change-this-very-long-secret-key-256bits-min}") String secret,
       @Value("${app.jwt.expirationMillis:86400000}") long expirationMs) {
+    this(secret, expirationMs, Clock.systemUTC());
+  }
+
+  JwtService(String secret, long expirationMs, Clock clock) {
     this.key = Keys.hmacShaKeyFor(secret.getBytes());
+    this.parser = Jwts.parserBuilder().setSigningKey(key).setClock(() -> Date.from(clock.instant())).build();
     this.expirationMs = expirationMs;
+    this.clock = clock;
   }
 
+  @Timed(value = "jwt.generate", histogram = true)
   public String generate(String subject, Map<String, Object> claims) {
-    long now = System.currentTimeMillis();
+    long now = clock.millis();
     return Jwts.builder()
         .setSubject(subject)
+        .setId(UUID.randomUUID().toString())
         .addClaims(claims)
         .setIssuedAt(new Date(now))
         .setExpiration(new Date(now + expirationMs))
@@ -31,13 +50,16 @@ public class JwtService {
         .compact();
   }
 
-  public String username(String token) {
-    return Jwts.parserBuilder().setSigningKey(key).build()
-        .parseClaimsJws(token).getBody().getSubject();
+  /** Verifies signature and expiry once; empty if the token is not acceptable. */
+  @Timed(value = "jwt.verify", histogram = true)
+  public Optional<Claims> verify(String token) {
+    try { return Optional.of(parser.parseClaimsJws(token).getBody()); }
+    catch (JwtException | IllegalArgumentException e) { return Optional.empty(); }
   }
 
-  public boolean isValid(String token) {
-    try { Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token); return true; }
-    catch (JwtException e) { return false; }
+  /** The "uid" claim set at login; null for tokens issued before it existed. */
+  public static Long userId(Claims claims) {
+    Object uid = claims.get(USER_ID);
+    return uid instanceof Number n ? n.longValue() : null;
   }
 }
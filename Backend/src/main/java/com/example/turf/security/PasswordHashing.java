@@ -0,0 +1,61 @@
+package com.example.turf.security;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Small fixed pool that runs the BCrypt-bound parts of login and register, so a
+ * signup burst queues here instead of occupying every servlet thread. The queue is
+ * bounded; once it is full new work is refused with {@link HashingSaturatedException}
+ * (503) rather than piling up behind requests that will time out anyway.
+ */
+@Component
+public class PasswordHashing implements DisposableBean {
+  public record Stats(int threads, int active, int queued, int queueCapacity, long completed, long rejected) {}
+
+  private final ThreadPoolExecutor executor;
+  private final int queueCapacity;
+  private final LongAdder rejected = new LongAdder();
+
+  public PasswordHashing(@Value("${app.auth.hashing.threads:0}") int threads,
+                         @Value("${app.auth.hashing.queue:64}") int queueCapacity) {
+    int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    var ids = new AtomicInteger();
+    this.queueCapacity = queueCapacity;
+    this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), r -> {
+          var t = new Thread(r, "password-hashing-" + ids.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        });
+  }
+
+  public <T> CompletableFuture<T> submit(Supplier<T> work) {
+    try {
+      return CompletableFuture.supplyAsync(work, executor);
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new HashingSaturatedException();
+    }
+  }
+
+  public Stats stats() {
+    return new Stats(executor.getCorePoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+        queueCapacity, executor.getCompletedTaskCount(), rejected.sum());
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdown();
+  }
+}
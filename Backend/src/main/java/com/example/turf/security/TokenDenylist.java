@@ -0,0 +1,83 @@
+package com.example.turf.security;
+
+import com.example.turf.user.UserChangedEvent;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory revocation for otherwise self-contained tokens. Two kinds of entries:
+ * single tokens by jti (logout), kept only until the token would have expired, and a
+ * per-user cutoff that rejects everything issued before it (user row changed), kept
+ * for one token lifetime. Both shrink back to empty on their own, so the list stays
+ * as small as the set of live revoked tokens. Off with app.jwt.revocation.enabled=false.
+ */
+@Component
+public class TokenDenylist {
+  private final JwtService jwt;
+  private final boolean enabled;
+  private final long tokenLifetimeMillis;
+  private final Clock clock;
+  private final Map<String, Long> revokedIds = new ConcurrentHashMap<>();
+  private final Map<Long, Long> issuedBefore = new ConcurrentHashMap<>();
+
+  @Autowired
+  public TokenDenylist(JwtService jwt,
+                       @Value("${app.jwt.revocation.enabled:true}") boolean enabled,
+                       @Value("${app.jwt.expirationMillis:86400000}") long tokenLifetimeMillis) {
+    this(jwt, enabled, tokenLifetimeMillis, Clock.systemUTC());
+  }
+
+  TokenDenylist(JwtService jwt, boolean enabled, long tokenLifetimeMillis, Clock clock) {
+    this.jwt = jwt;
+    this.enabled = enabled;
+    this.tokenLifetimeMillis = tokenLifetimeMillis;
+    this.clock = clock;
+  }
+
+  public boolean isRevoked(Claims claims) {
+    if (!enabled) return false;
+    if (claims.getId() != null && revokedIds.containsKey(claims.getId())) return true;
+    Long userId = JwtService.userId(claims);
+    Long cutoff = userId == null ? null : issuedBefore.get(userId);
+    return cutoff != null && claims.getIssuedAt() != null && claims.getIssuedAt().getTime() < cutoff;
+  }
+
+  /** Revokes one token (logout); false if it wasn't a valid token to begin with. */
+  public boolean revoke(String token) {
+    var claims = jwt.verify(token).orElse(null);
+    if (claims == null || claims.getId() == null) return false;
+    long expiresAt = claims.getExpiration() == null ? clock.millis() + tokenLifetimeMillis : claims.getExpiration().getTime();
+    revokedIds.put(claims.getId(), expiresAt);
+    return true;
+  }
+
+  /** Revokes every token of the user issued before now. */
+  public void revokeAllOf(Long userId) {
+    // iat has second precision; round down so a token issued right after this call survives
+    issuedBefore.put(userId, clock.millis() / 1000 * 1000);
+  }
+
+  public int size() {
+    return revokedIds.size() + issuedBefore.size();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserChanged(UserChangedEvent event) {
+    revokeAllOf(event.userId());
+  }
+
+  @Scheduled(fixedDelayString = "${app.jwt.revocation.prune-interval:PT1M}")
+  public void prune() {
+    long now = clock.millis();
+    revokedIds.values().removeIf(expiresAt -> expiresAt <= now);
+    issuedBefore.values().removeIf(cutoff -> cutoff + tokenLifetimeMillis <= now);
+  }
+}
@@ -1,13 +1,33 @@
 package com.example.turf.security;
 
+import com.example.turf.user.Role;
 import com.example.turf.user.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.stream.Collectors;
 
 public record UserPrincipal(User user) implements UserDetails {
+  /**
+   * A principal rebuilt from verified token claims alone (subject, uid, roles), with no
+   * password; null when the token predates the uid claim and needs a user lookup.
+   */
+  public static UserPrincipal fromClaims(Claims claims) {
+    Long id = JwtService.userId(claims);
+    if (id == null || claims.getSubject() == null) return null;
+    var roles = EnumSet.noneOf(Role.class);
+    if (claims.get(JwtService.ROLES) instanceof Collection<?> names) {
+      for (Object name : names) {
+        Arrays.stream(Role.values()).filter(r -> r.name().equals(String.valueOf(name))).findFirst().ifPresent(roles::add);
+      }
+    }
+    return new UserPrincipal(User.builder().id(id).email(claims.getSubject()).roles(roles).build());
+  }
+
   @Override public Collection<? extends GrantedAuthority> getAuthorities() {
     return user.getRoles().stream().map(r -> new SimpleGrantedAuthority("ROLE_" + r.name())).collect(Collectors.toSet());
   }
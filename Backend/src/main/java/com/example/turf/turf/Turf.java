@@ -5,9 +5,13 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
 @Entity @Table(name="turfs")
+@EntityListeners(TurfEntityListener.class)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Turf {
-  @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+  /** Pooled sequence (not IDENTITY) so inserts can be JDBC-batched; see IdSequenceAligner. */
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "turfs_seq")
+  @SequenceGenerator(name = "turfs_seq", sequenceName = "turfs_seq", allocationSize = 50)
   private Long id;
 
   @NotBlank @Column(nullable=false, unique=true)
@@ -0,0 +1,116 @@
+package com.example.turf.turf;
+
+import com.example.turf.common.cache.BoundedCache;
+import com.example.turf.common.cache.CacheStats;
+import com.example.turf.turf.dto.TurfDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Read-through cache of the active turf catalog: the full DTO list, the normalized
+ * sport types and per-sport lists, all immutable, plus an id-keyed cache for single
+ * turf lookups. Lists are dropped after any turf write commits; by-id entries only
+ * for the turf that changed. Size is bounded by the number of DTOs held
+ * (app.catalog.max-entries); a catalog too large for the budget is simply read
+ * from the database each time.
+ */
+@Component
+public class TurfCatalog {
+  private static final String ALL = "all";
+  private static final String TYPES = "types";
+  private static final String SPORT = "sport:";
+  private static final String SPORT_KEYS = "sport-keys";
+
+  private final TurfRepository turfs;
+  private final BoundedCache<String, List<?>> cache;
+  private final BoundedCache<Long, TurfDTO> byId;
+
+  public TurfCatalog(TurfRepository turfs, @Value("${app.catalog.max-entries:20000}") long maxEntries) {
+    this.turfs = turfs;
+    this.cache = new BoundedCache<>(maxEntries, l -> Math.max(1, l.size()));
+    this.byId = new BoundedCache<>(maxEntries, t -> 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<TurfDTO> all() {
+    return (List<TurfDTO>) cache.get(ALL, k -> turfs.findByActiveTrue().stream().map(TurfDTO::from).toList());
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<String> types() {
+    return (List<String>) cache.get(TYPES, k -> all().stream()
+        .map(TurfDTO::sportType)
+        .map(s -> s == null ? "" : s.trim())
+        .filter(s -> !s.isEmpty())
+        .map(s -> Character.toUpperCase(s.charAt(0)) + s.substring(1).toLowerCase())
+        .distinct()
+        .sorted()
+        .toList());
+  }
+
+  /**
+   * Active turfs of one sport (case-insensitive); loaded per sport so it works when {@link #all} is over budget.
+   * A sport no active turf has is answered empty without a cache entry, so made-up names can't evict real ones.
+   */
+  @SuppressWarnings("unchecked")
+  public List<TurfDTO> bySport(String sportType) {
+    var key = sportType == null ? "" : sportType.trim().toLowerCase(Locale.ROOT);
+    if (!sportKeys().contains(key)) return List.of();
+    return (List<TurfDTO>) cache.get(SPORT + key, k ->
+        turfs.findActiveBySportKey(key).stream().map(TurfDTO::from).toList());
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<String> sportKeys() {
+    return (List<String>) cache.get(SPORT_KEYS, k -> List.copyOf(turfs.findActiveSportKeys()));
+  }
+
+  /** Primary-key lookup of an active turf. */
+  public Optional<TurfDTO> byId(Long id) {
+    return Optional.ofNullable(byId.get(id, k -> turfs.findById(k).filter(Turf::isActive).map(TurfDTO::from).orElse(null)));
+  }
+
+  /** Active turfs for the given ids in request order; misses are fetched with one IN query. */
+  public List<TurfDTO> byIds(Collection<Long> ids) {
+    var found = new HashMap<Long, TurfDTO>();
+    var missing = new ArrayList<Long>();
+    for (Long id : new LinkedHashSet<>(ids)) {
+      var cached = byId.getIfPresent(id);
+      if (cached != null) found.put(id, cached); else missing.add(id);
+    }
+    if (!missing.isEmpty()) {
+      long gen = byId.generation(); // a turf change during the query must not leave its old row cached
+      for (var turf : turfs.findAllById(missing)) {
+        if (!turf.isActive()) continue;
+        var dto = TurfDTO.from(turf);
+        byId.put(dto.id(), dto, gen);
+        found.put(dto.id(), dto);
+      }
+    }
+    return new LinkedHashSet<>(ids).stream().map(found::get).filter(Objects::nonNull).toList();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public CacheStats byIdStats() {
+    return byId.stats();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTurfChanged(TurfChangedEvent event) {
+    cache.invalidateAll();
+    byId.invalidate(event.turfId());
+  }
+}
@@ -0,0 +1,4 @@
+package com.example.turf.turf;
+
+/** Published when a turf row is created, updated (including deactivation) or deleted. */
+public record TurfChangedEvent(Long turfId) {}
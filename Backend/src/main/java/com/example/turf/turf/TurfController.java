@@ -1,19 +1,50 @@
 package com.example.turf.turf;
 
+import com.example.turf.booking.occupancy.OccupancyCalendar;
+import com.example.turf.booking.occupancy.SlotGrid;
+import com.example.turf.turf.dto.FreeSlot;
 import com.example.turf.turf.dto.TurfDTO;
 import com.example.turf.turf.dto.TurfSearchResponse;
+import com.example.turf.turf.dto.TurfSearchResult;
+import com.example.turf.turf.search.FreeSlotFinder;
+import com.example.turf.turf.search.FreeSlotQuery;
+import com.example.turf.turf.search.TurfQuery;
+import com.example.turf.turf.search.TurfSearchService;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController @RequestMapping("/api/turfs") @RequiredArgsConstructor
 public class TurfController {
+  private static final int MAX_BATCH_IDS = 500;
+  private static final int MAX_CALENDAR_TURFS = 200;
+  private static final int MAX_CALENDAR_DAYS = 366;
+  private static final int MAX_SEARCH_RESULTS = 200;
+  private static final int MAX_FREE_SLOTS = 100;
+  private static final int MAX_FREE_SLOT_DAYS = 90;
+
   private final TurfService service;
+  private final OccupancyCalendar calendar;
+  private final TurfSearchService search;
+  private final FreeSlotFinder freeSlots;
+  private final Clock clock; // shared with FreeSlotFinder, so both agree on today
 
   @GetMapping("/types")
   public List<String> types() {
@@ -31,6 +62,52 @@ public class TurfController {
     return ResponseEntity.ok(new TurfSearchResponse(200, list));
   }
 
+  /**
+   * Faceted search: /turfs/search?q=north&area=City Center&sport=Football,Futsal&minPrice=2000&maxPrice=3000&limit=50,
+   * every parameter optional. With date=YYYY-MM-DD&timeSlot=HH:mm-HH:mm only turfs free for that slot match.
+   */
+  @GetMapping("/search")
+  public ResponseEntity<TurfSearchResult> search(
+      @RequestParam(required = false) String q,
+      @RequestParam(required = false) Set<String> area,
+      @RequestParam(required = false) Set<String> sport,
+      @RequestParam(required = false) Integer minPrice,
+      @RequestParam(required = false) Integer maxPrice,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+      @RequestParam(required = false) String timeSlot,
+      @RequestParam(defaultValue = "50") int limit) {
+    if (limit < 1 || limit > MAX_SEARCH_RESULTS || (date == null) != (timeSlot == null)
+        || (timeSlot != null && SlotGrid.mask(timeSlot) == 0)
+        || (minPrice != null && maxPrice != null && minPrice > maxPrice)) {
+      return ResponseEntity.badRequest().build();
+    }
+    var query = new TurfQuery(q, area, sport, minPrice, maxPrice, limit);
+    return ResponseEntity.ok(date == null ? search.search(query) : search.searchFree(query, date, timeSlot));
+  }
+
+  /**
+   * Earliest free slots instead of probing availability date by date:
+   * /turfs/next-available?sport=Football&area=North Side&from=YYYY-MM-DD&days=14&after=17:00&before=22:00&limit=10,
+   * everything but sport optional (from defaults to today). Ordered by date, then slot, then turf.
+   */
+  @GetMapping("/next-available")
+  public ResponseEntity<List<FreeSlot>> nextAvailable(
+      @RequestParam @NotBlank String sport,
+      @RequestParam(required = false) String area,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(defaultValue = "14") int days,
+      @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime after,
+      @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime before,
+      @RequestParam(defaultValue = "10") int limit) {
+    if (days < 1 || days > MAX_FREE_SLOT_DAYS || limit < 1 || limit > MAX_FREE_SLOTS
+        || (after != null && before != null && !after.isBefore(before))) {
+      return ResponseEntity.badRequest().build();
+    }
+    var today = LocalDate.now(clock);
+    var start = from == null || from.isBefore(today) ? today : from;
+    return ResponseEntity.ok(freeSlots.find(new FreeSlotQuery(sport, area, start, days, after, before, limit)));
+  }
+
   /** Your UI also calls /turfs/all and /turfs/all-available-turfs (we'll return all active for both) */
   @GetMapping("/all")
   public List<TurfDTO> all() {
@@ -42,9 +119,41 @@ public class TurfController {
     return service.allActive();
   }
 
+  /** Supports If-None-Match: an unchanged turf answers 304 without a body. */
   @GetMapping("/turf-by-id/{id}")
-  public ResponseEntity<TurfDTO> byId(@PathVariable Long id) {
-    return service.allActive().stream().filter(t -> t.id().equals(id))
-      .findFirst().map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+  public ResponseEntity<TurfDTO> byId(@PathVariable Long id, WebRequest request) {
+    var turf = service.byId(id).orElse(null);
+    if (turf == null) return ResponseEntity.notFound().build();
+    String etag = etag(turf);
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePublic()).body(turf);
+  }
+
+  /** e.g. /turfs/by-ids?ids=1,2,3 for booking listings; unknown or inactive ids are skipped. */
+  @GetMapping("/by-ids")
+  public ResponseEntity<List<TurfDTO>> byIds(@RequestParam List<Long> ids) {
+    if (ids.size() > MAX_BATCH_IDS) return ResponseEntity.badRequest().build();
+    return ResponseEntity.ok(service.byIds(ids));
+  }
+
+  /** Week/month views: /turfs/calendar?turfIds=1,2&from=YYYY-MM-DD&to=YYYY-MM-DD; unknown or inactive turfs are a 400. */
+  @GetMapping("/calendar")
+  public ResponseEntity<StreamingResponseBody> calendar(
+      @RequestParam List<Long> turfIds,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    long days = ChronoUnit.DAYS.between(from, to) + 1;
+    if (turfIds.isEmpty() || turfIds.size() > MAX_CALENDAR_TURFS || days < 1 || days > MAX_CALENDAR_DAYS
+        || service.byIds(turfIds).size() != new HashSet<>(turfIds).size()) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+        .body(out -> calendar.write(turfIds, from, to, out));
+  }
+
+  private static String etag(TurfDTO turf) {
+    return "\"" + DigestUtils.md5DigestAsHex(turf.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
   }
 }
@@ -0,0 +1,19 @@
+package com.example.turf.turf;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/** Turns JPA lifecycle callbacks into {@link TurfChangedEvent}s, whoever did the write. */
+@Component @RequiredArgsConstructor
+public class TurfEntityListener {
+  private final ApplicationEventPublisher events;
+
+  @PostPersist @PostUpdate @PostRemove
+  void changed(Turf turf) {
+    events.publishEvent(new TurfChangedEvent(turf.getId()));
+  }
+}
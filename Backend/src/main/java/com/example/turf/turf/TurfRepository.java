@@ -1,10 +1,43 @@
 package com.example.turf.turf;
 
+import com.example.turf.turf.dto.TurfDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
 import java.util.List;
 
 public interface TurfRepository extends JpaRepository<Turf, Long> {
-  List<Turf> findBySportTypeIgnoreCaseAndActiveTrue(String sportType);
   List<Turf> findByActiveTrue();
   boolean existsByNameIgnoreCase(String name);
+
+  /** Sport types of active turfs, trimmed and lower-cased. */
+  @Query("select distinct lower(trim(t.sportType)) from Turf t where t.active = true and t.sportType is not null")
+  List<String> findActiveSportKeys();
+
+  /** Active turfs whose sport type normalizes to key, one of {@link #findActiveSportKeys}. */
+  @Query("select t from Turf t where t.active = true and lower(trim(t.sportType)) = :key")
+  List<Turf> findActiveBySportKey(@Param("key") String key);
+
+  /**
+   * Active turfs of a sport with no live booking overlapping [start, end) on date, in
+   * one round trip. The NOT EXISTS probe is an index-only scan on idx_booking_live_slot,
+   * which skips cancelled rows; legacy rows without slot columns still match on the
+   * exact slot string.
+   */
+  @Query("""
+      select new com.example.turf.turf.dto.TurfDTO(t.id, t.name, t.area, t.sportType, t.pricePerSlot)
+      from Turf t
+      where t.active = true and lower(trim(t.sportType)) = lower(trim(:sportType))
+        and not exists (
+          select 1 from Booking b
+          where b.turf = t and b.bookingDate = :date and b.live = true
+            and ((b.slotStart < :end and b.slotEnd > :start) or b.bookingTime = :time))
+      order by t.id""")
+  List<TurfDTO> findAvailable(@Param("sportType") String sportType,
+                              @Param("date") LocalDate date,
+                              @Param("time") String time,
+                              @Param("start") int start,
+                              @Param("end") int end);
 }
@@ -1,42 +1,62 @@
 package com.example.turf.turf;
 
-import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.TimeSlot;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.occupancy.SlotAdmission;
+import com.example.turf.booking.occupancy.SlotGrid;
 import com.example.turf.turf.dto.TurfDTO;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+@Timed(value = "turf.service", histogram = true)
 @Service @RequiredArgsConstructor
 public class TurfService {
   private final TurfRepository turfs;
-  private final BookingRepository bookings;
+  private final TurfCatalog catalog;
+  private final OccupancyIndex occupancy;
+  private final SlotAdmission admission;
 
   public List<String> getTurfTypes() {
-    // derive distinct sport types from DB
-    return turfs.findByActiveTrue().stream()
-      .map(Turf::getSportType)
-      .map(s -> s == null ? "" : s.trim())
-      .filter(s -> !s.isEmpty())
-      .map(s -> Character.toUpperCase(s.charAt(0)) + s.substring(1).toLowerCase())
-      .distinct()
-      .sorted()
-      .toList();
+    return catalog.types();
   }
 
   /**
    * Return active turfs of the given sportType that are NOT booked at (date,time).
+   * A slot is taken if it overlaps any booking. Dates in the hot window are answered
+   * from the occupancy index; other dates use a single anti-join on bookings.
+   * Slots under a checkout hold or a booking in flight count as taken either way.
    */
   public List<TurfDTO> findAvailable(String sportType, LocalDate date, String timeSlot) {
-    var candidates = turfs.findBySportTypeIgnoreCaseAndActiveTrue(sportType);
-    return candidates.stream()
-      .filter(t -> !bookings.existsByTurfIdAndBookingDateAndBookingTime(t.getId(), date, timeSlot))
-      .map(TurfDTO::from)
-      .toList();
+    long mask = SlotGrid.mask(timeSlot);
+    var free = mask != 0 && occupancy.covers(date)
+      ? catalog.bySport(sportType).stream().filter(t -> occupancy.isFree(t.id(), date, mask)).toList()
+      : findAvailableInDb(sportType, date, timeSlot);
+    if (mask == 0) return free;
+    return free.stream().filter(t -> !admission.isClaimed(t.id(), date, mask)).toList();
+  }
+
+  private List<TurfDTO> findAvailableInDb(String sportType, LocalDate date, String timeSlot) {
+    // an unparseable slot can only match legacy rows by string; an empty range matches nothing
+    var slot = TimeSlot.tryParse(timeSlot);
+    return turfs.findAvailable(sportType, date, timeSlot,
+      slot.map(TimeSlot::startMinute).orElse(0), slot.map(TimeSlot::endMinute).orElse(0));
   }
 
   public List<TurfDTO> allActive() {
-    return turfs.findByActiveTrue().stream().map(TurfDTO::from).toList();
+    return catalog.all();
+  }
+
+  public Optional<TurfDTO> byId(Long id) {
+    return catalog.byId(id);
+  }
+
+  public List<TurfDTO> byIds(Collection<Long> ids) {
+    return catalog.byIds(ids);
   }
 }
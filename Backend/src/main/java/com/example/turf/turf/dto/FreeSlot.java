@@ -0,0 +1,6 @@
+package com.example.turf.turf.dto;
+
+import java.time.LocalDate;
+
+/** A bookable (turf, date, slot) nobody holds yet. */
+public record FreeSlot(LocalDate date, String timeSlot, TurfDTO turf) {}
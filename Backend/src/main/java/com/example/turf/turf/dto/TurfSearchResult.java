@@ -0,0 +1,17 @@
+package com.example.turf.turf.dto;
+
+import java.util.List;
+
+/**
+ * One page of faceted search results. {@code total} counts every match, not just the
+ * page. Each facet is counted under all filters except its own, so picking an area
+ * still shows how many turfs the other areas would give.
+ */
+public record TurfSearchResult(int total, List<TurfDTO> turfs, List<FacetCount> areas, List<FacetCount> sports,
+                               List<PriceBucket> prices) {
+
+  public record FacetCount(String value, int count) {}
+
+  /** Prices in [from, to); a null bound is open. */
+  public record PriceBucket(Integer from, Integer to, int count) {}
+}
@@ -0,0 +1,136 @@
+package com.example.turf.turf.search;
+
+import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.TimeSlot;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.occupancy.SlotAdmission;
+import com.example.turf.booking.occupancy.SlotGrid;
+import com.example.turf.turf.TurfCatalog;
+import com.example.turf.turf.dto.FreeSlot;
+import com.example.turf.turf.dto.TurfDTO;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Earliest free (turf, date, slot) combinations for a sport, in one ordered pass:
+ * date, then slot start, then turf id, stopping as soon as the limit is reached.
+ * Dates inside the occupancy window are answered from memory; later dates are
+ * read a week at a time with one range query each, for the matching turfs only and
+ * only as far as the scan gets.
+ * Slots under a checkout hold or a booking in flight count as taken, and a legacy
+ * booking whose slot can't be placed on the grid takes its whole day, as in the
+ * occupancy calendar. Slots of today that have already started are skipped.
+ */
+@Timed(value = "turf.free-slots", histogram = true)
+@Service
+public class FreeSlotFinder {
+  static final int DB_CHUNK_DAYS = 7;
+  private static final long WHOLE_DAY = SlotGrid.range(0, 24 * 60);
+
+  private final TurfCatalog catalog;
+  private final OccupancyIndex occupancy;
+  private final SlotAdmission admission;
+  private final BookingRepository bookings;
+  private final TransactionTemplate tx;
+  private final List<TimeSlot> slots;
+  private final Clock clock;
+
+  public FreeSlotFinder(TurfCatalog catalog, OccupancyIndex occupancy, SlotAdmission admission,
+                        BookingRepository bookings, TransactionTemplate tx,
+                        @Value("${app.search.offered-slots:06:00-08:00,08:00-10:00,10:00-12:00,12:00-14:00,"
+                            + "14:00-16:00,16:00-18:00,18:00-20:00,20:00-22:00}") String[] offeredSlots,
+                        Clock clock) {
+    this.catalog = catalog;
+    this.occupancy = occupancy;
+    this.admission = admission;
+    this.bookings = bookings;
+    this.tx = tx;
+    this.clock = clock;
+    this.slots = Arrays.stream(offeredSlots).map(TimeSlot::parse)
+        .sorted(Comparator.comparingInt(TimeSlot::startMinute).thenComparingInt(TimeSlot::endMinute))
+        .distinct().toList();
+  }
+
+  public List<FreeSlot> find(FreeSlotQuery query) {
+    var turfs = catalog.bySport(query.sport().trim()).stream()
+        .filter(t -> query.area() == null || query.area().isBlank()
+            || (t.area() != null && t.area().trim().equalsIgnoreCase(query.area().trim())))
+        .sorted(Comparator.comparing(TurfDTO::id))
+        .toList();
+    var window = slots.stream()
+        .filter(s -> query.after() == null || s.startMinute() >= minuteOf(query.after()))
+        .filter(s -> query.before() == null || s.endMinute() <= minuteOf(query.before()))
+        .toList();
+    var found = new ArrayList<FreeSlot>();
+    if (turfs.isEmpty() || window.isEmpty()) return found;
+
+    var ids = new HashSet<Long>();
+    turfs.forEach(t -> ids.add(t.id()));
+    var now = LocalDateTime.now(clock);
+    var last = query.from().plusDays(query.days() - 1);
+    Map<LocalDate, Map<Long, Long>> booked = Map.of();
+    LocalDate bookedUntil = null;
+
+    for (var date = query.from(); !date.isAfter(last); date = date.plusDays(1)) {
+      if (date.isBefore(now.toLocalDate())) continue;
+      boolean inMemory = occupancy.covers(date);
+      if (!inMemory && (bookedUntil == null || date.isAfter(bookedUntil))) {
+        bookedUntil = min(date.plusDays(DB_CHUNK_DAYS - 1), last);
+        booked = bookedCells(ids, date, bookedUntil);
+      }
+      var dayCells = inMemory ? null : booked.getOrDefault(date, Map.of());
+      int started = date.equals(now.toLocalDate()) ? now.getHour() * 60 + now.getMinute() : -1;
+
+      for (var slot : window) {
+        if (slot.startMinute() < started) continue;
+        long mask = SlotGrid.mask(slot);
+        for (var turf : turfs) {
+          long taken = inMemory ? occupancy.occupied(turf.id(), date) : dayCells.getOrDefault(turf.id(), 0L);
+          if ((taken & mask) != 0 || admission.isClaimed(turf.id(), date, mask)) continue;
+          found.add(new FreeSlot(date, slot.toString(), turf));
+          if (found.size() == query.limit()) return found;
+        }
+      }
+    }
+    return found;
+  }
+
+  /** Booked cells per date and turf over [from, to], for the given turfs only, read in one short read-only transaction. */
+  private Map<LocalDate, Map<Long, Long>> bookedCells(Collection<Long> turfIds, LocalDate from, LocalDate to) {
+    var cells = new HashMap<LocalDate, Map<Long, Long>>();
+    tx.executeWithoutResult(status -> {
+      status.setRollbackOnly();
+      try (var rows = bookings.streamBookedSlots(turfIds, from, to)) {
+        rows.forEach(row -> {
+          long mask = row.mask();
+          cells.computeIfAbsent(row.bookingDate(), d -> new HashMap<>())
+              .merge(row.turfId(), mask == 0 ? WHOLE_DAY : mask, (a, b) -> a | b);
+        });
+      }
+    });
+    return cells;
+  }
+
+  private static int minuteOf(LocalTime time) {
+    return time.getHour() * 60 + time.getMinute();
+  }
+
+  private static LocalDate min(LocalDate a, LocalDate b) {
+    return a.isBefore(b) ? a : b;
+  }
+}
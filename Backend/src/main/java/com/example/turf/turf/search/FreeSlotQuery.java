@@ -0,0 +1,23 @@
+package com.example.turf.turf.search;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Where to look for the next free slot: one sport, optionally one area, the
+ * {@code days} dates starting at {@code from}, and only offered slots lying within
+ * [after, before] when those are given.
+ */
+public record FreeSlotQuery(String sport, String area, LocalDate from, int days, LocalTime after, LocalTime before,
+                            int limit) {
+
+  public FreeSlotQuery {
+    if (sport == null || sport.isBlank()) throw new IllegalArgumentException("sport is required");
+    if (from == null) throw new IllegalArgumentException("from is required");
+    if (days < 1) throw new IllegalArgumentException("days must be positive");
+    if (limit < 1) throw new IllegalArgumentException("limit must be positive");
+    if (after != null && before != null && !after.isBefore(before)) {
+      throw new IllegalArgumentException("after must be before before");
+    }
+  }
+}
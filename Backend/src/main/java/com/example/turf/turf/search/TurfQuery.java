@@ -0,0 +1,17 @@
+package com.example.turf.turf.search;
+
+import java.util.Set;
+
+/**
+ * Filters of a turf search; every one is optional. Words in {@code text} must all
+ * match (by prefix) a word of the turf's name, area or sport. Several areas or
+ * sports match any of them. Prices are inclusive.
+ */
+public record TurfQuery(String text, Set<String> areas, Set<String> sports, Integer minPrice, Integer maxPrice, int limit) {
+
+  public TurfQuery {
+    areas = areas == null ? Set.of() : areas;
+    sports = sports == null ? Set.of() : sports;
+    if (limit < 0) throw new IllegalArgumentException("limit must not be negative");
+  }
+}
@@ -0,0 +1,282 @@
+package com.example.turf.turf.search;
+
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfChangedEvent;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.turf.dto.TurfDTO;
+import com.example.turf.turf.dto.TurfSearchResult;
+import com.example.turf.turf.dto.TurfSearchResult.FacetCount;
+import com.example.turf.turf.dto.TurfSearchResult.PriceBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the active turfs. Each turf gets a dense document
+ * number. Posting lists are bitsets keyed by area, by sport and by word of the name,
+ * area and sport; words sit in a sorted map so that a query word matches by prefix.
+ * Prices sit in a sorted map too, so a price range is one submap. A search is then a
+ * handful of bitset ANDs and ORs, and each facet value is counted as one more AND.
+ * <p>
+ * Built in full when the app is ready. After that, each committed turf change
+ * re-reads that one turf and re-posts it. Documents left empty by updates are
+ * reclaimed once they outnumber the live ones.
+ */
+@Slf4j
+@Component
+public class TurfSearchIndex {
+  private static final Pattern WORD_BREAK = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Comparator<TurfDTO> BY_PRICE = Comparator
+      .comparing(TurfDTO::pricePerSlot, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparing(TurfDTO::name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+      .thenComparing(TurfDTO::id);
+
+  private final TurfRepository turfs;
+  private final int[] priceBounds;
+  // writers hold this across the repository read and the update, so an event can't
+  // be overtaken by an older read; readers only ever take the read lock. A lock rather
+  // than a monitor, so a virtual thread waiting on the read doesn't pin its carrier.
+  private final ReentrantLock writer = new ReentrantLock();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // guarded by lock
+  private final List<TurfDTO> docs = new ArrayList<>();
+  private final Map<Long, Integer> docOf = new HashMap<>();
+  private final BitSet live = new BitSet();
+  private final Map<String, BitSet> byArea = new HashMap<>();
+  private final Map<String, BitSet> bySport = new HashMap<>();
+  private final TreeMap<String, BitSet> byWord = new TreeMap<>();
+  private final TreeMap<Integer, BitSet> byPrice = new TreeMap<>();
+
+  public TurfSearchIndex(TurfRepository turfs,
+                         @Value("${app.search.price-buckets:2000,2500,3000,3500}") int[] priceBounds) {
+    for (int i = 1; i < priceBounds.length; i++) {
+      if (priceBounds[i] <= priceBounds[i - 1]) throw new IllegalArgumentException("app.search.price-buckets must be ascending");
+    }
+    this.turfs = turfs;
+    this.priceBounds = priceBounds.clone();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    writer.lock();
+    try {
+      var active = turfs.findByActiveTrue().stream().map(TurfDTO::from).toList();
+      lock.writeLock().lock();
+      try {
+        reset(active);
+      } finally {
+        lock.writeLock().unlock();
+      }
+      log.info("Turf search index built: {} turfs, {} words", active.size(), byWord.size());
+    } finally {
+      writer.unlock();
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTurfChanged(TurfChangedEvent event) {
+    if (event.turfId() == null) return;
+    writer.lock();
+    try {
+      var turf = turfs.findById(event.turfId()).filter(Turf::isActive).map(TurfDTO::from);
+      lock.writeLock().lock();
+      try {
+        remove(event.turfId());
+        turf.ifPresent(this::add);
+        if (docs.size() > 2 * docOf.size() + 1024) reset(docs.stream().filter(Objects::nonNull).toList());
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } finally {
+      writer.unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return docOf.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Matches sorted by price (unpriced last), then name. {@code available} filters by turf id, if given. */
+  public TurfSearchResult search(TurfQuery query, LongPredicate available) {
+    lock.readLock().lock();
+    try {
+      var base = (BitSet) live.clone();
+      for (var word : words(query.text())) base.and(union(byWord.subMap(word, true, word + Character.MAX_VALUE, true).values()));
+      if (available != null) {
+        for (int d = base.nextSetBit(0); d >= 0; d = base.nextSetBit(d + 1)) {
+          if (!available.test(docs.get(d).id())) base.clear(d);
+        }
+      }
+      var area = query.areas().isEmpty() ? null : union(query.areas().stream().map(a -> byArea.get(key(a))).toList());
+      var sport = query.sports().isEmpty() ? null : union(query.sports().stream().map(s -> bySport.get(key(s))).toList());
+      var price = query.minPrice() == null && query.maxPrice() == null ? null : union(byPrice.subMap(
+          query.minPrice() == null ? Integer.MIN_VALUE : query.minPrice(), true,
+          query.maxPrice() == null ? Integer.MAX_VALUE : query.maxPrice(), true).values());
+
+      var matches = and(base, area, sport, price);
+      return new TurfSearchResult(matches.cardinality(), top(matches, query.limit()),
+          facet(and(base, sport, price), byArea, TurfDTO::area),
+          facet(and(base, area, price), bySport, TurfDTO::sportType),
+          prices(and(base, area, sport)));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** The first {@code limit} matches in price order, kept in a bounded heap rather than sorting every match. */
+  private List<TurfDTO> top(BitSet matches, int limit) {
+    if (limit == 0) return List.of();
+    var heap = new PriorityQueue<TurfDTO>(Math.min(limit, matches.cardinality()) + 1, BY_PRICE.reversed());
+    for (int d = matches.nextSetBit(0); d >= 0; d = matches.nextSetBit(d + 1)) {
+      var turf = docs.get(d);
+      if (heap.size() < limit) {
+        heap.add(turf);
+      } else if (BY_PRICE.compare(turf, heap.peek()) < 0) {
+        heap.poll();
+        heap.add(turf);
+      }
+    }
+    var page = new ArrayList<>(heap);
+    page.sort(BY_PRICE);
+    return List.copyOf(page);
+  }
+
+  private void reset(List<TurfDTO> active) {
+    docs.clear();
+    docOf.clear();
+    live.clear();
+    byArea.clear();
+    bySport.clear();
+    byWord.clear();
+    byPrice.clear();
+    active.forEach(this::add);
+  }
+
+  private void add(TurfDTO turf) {
+    int d = docs.size();
+    docs.add(turf);
+    docOf.put(turf.id(), d);
+    live.set(d);
+    post(byArea, key(turf.area()), d, true);
+    post(bySport, key(turf.sportType()), d, true);
+    for (var word : words(turf)) post(byWord, word, d, true);
+    if (turf.pricePerSlot() != null) post(byPrice, turf.pricePerSlot(), d, true);
+  }
+
+  private void remove(Long turfId) {
+    Integer d = docOf.remove(turfId);
+    if (d == null) return;
+    var turf = docs.set(d, null);
+    live.clear(d);
+    post(byArea, key(turf.area()), d, false);
+    post(bySport, key(turf.sportType()), d, false);
+    for (var word : words(turf)) post(byWord, word, d, false);
+    if (turf.pricePerSlot() != null) post(byPrice, turf.pricePerSlot(), d, false);
+  }
+
+  private static <K> void post(Map<K, BitSet> postings, K key, int doc, boolean present) {
+    if (key instanceof String s && s.isEmpty()) return;
+    if (present) {
+      postings.computeIfAbsent(key, k -> new BitSet()).set(doc);
+    } else {
+      postings.computeIfPresent(key, (k, bits) -> {
+        bits.clear(doc);
+        return bits.isEmpty() ? null : bits;
+      });
+    }
+  }
+
+  /**
+   * Counts per distinct value, labelled as the first matching turf spells it; most
+   * common first. Counted as posting list intersections, one per distinct value.
+   */
+  private List<FacetCount> facet(BitSet docsIn, Map<String, BitSet> postings, Function<TurfDTO, String> field) {
+    var counts = new ArrayList<FacetCount>();
+    var scratch = new BitSet();
+    for (var posting : postings.values()) {
+      scratch.clear();
+      scratch.or(posting);
+      scratch.and(docsIn);
+      int first = scratch.nextSetBit(0);
+      if (first >= 0) counts.add(new FacetCount(field.apply(docs.get(first)).trim(), scratch.cardinality()));
+    }
+    counts.sort(Comparator.comparingInt(FacetCount::count).reversed().thenComparing(FacetCount::value));
+    return counts;
+  }
+
+  private List<PriceBucket> prices(BitSet docsIn) {
+    var counts = new int[priceBounds.length + 1];
+    for (int d = docsIn.nextSetBit(0); d >= 0; d = docsIn.nextSetBit(d + 1)) {
+      var price = docs.get(d).pricePerSlot();
+      if (price == null) continue;
+      int i = Arrays.binarySearch(priceBounds, price);
+      counts[i >= 0 ? i + 1 : -i - 1]++;
+    }
+    var buckets = new ArrayList<PriceBucket>(counts.length);
+    for (int i = 0; i < counts.length; i++) {
+      buckets.add(new PriceBucket(i == 0 ? null : priceBounds[i - 1], i == priceBounds.length ? null : priceBounds[i], counts[i]));
+    }
+    return buckets;
+  }
+
+  private static BitSet union(Collection<BitSet> postings) {
+    var bits = new BitSet();
+    for (var p : postings) if (p != null) bits.or(p);
+    return bits;
+  }
+
+  private static BitSet and(BitSet base, BitSet... filters) {
+    var bits = (BitSet) base.clone();
+    for (var f : filters) if (f != null) bits.and(f);
+    return bits;
+  }
+
+  private static String key(String value) {
+    return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static Set<String> words(TurfDTO turf) {
+    var words = new LinkedHashSet<String>();
+    words.addAll(words(turf.name()));
+    words.addAll(words(turf.area()));
+    words.addAll(words(turf.sportType()));
+    return words;
+  }
+
+  static Set<String> words(String text) {
+    var words = new LinkedHashSet<String>();
+    if (text == null) return words;
+    for (var w : WORD_BREAK.split(text.toLowerCase(Locale.ROOT))) if (!w.isEmpty()) words.add(w);
+    return words;
+  }
+}
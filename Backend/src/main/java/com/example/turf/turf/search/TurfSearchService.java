@@ -0,0 +1,48 @@
+package com.example.turf.turf.search;
+
+import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.dto.BookedSlot;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.occupancy.SlotAdmission;
+import com.example.turf.booking.occupancy.SlotGrid;
+import com.example.turf.turf.dto.TurfSearchResult;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Faceted turf search, optionally narrowed to turfs free for one slot. Free means the
+ * same as for availability: no overlapping live booking, read from the occupancy index
+ * inside its window and from one query on bookings outside it, and no claim in flight.
+ */
+@Timed(value = "turf.search", histogram = true)
+@Service @RequiredArgsConstructor
+public class TurfSearchService {
+  private final TurfSearchIndex index;
+  private final OccupancyIndex occupancy;
+  private final SlotAdmission admission;
+  private final BookingRepository bookings;
+
+  public TurfSearchResult search(TurfQuery query) {
+    return index.search(query, null);
+  }
+
+  /** @param timeSlot "HH:mm-HH:mm"; callers reject slots {@link SlotGrid#mask} can't read */
+  public TurfSearchResult searchFree(TurfQuery query, LocalDate date, String timeSlot) {
+    long mask = SlotGrid.mask(timeSlot);
+    LongPredicate free;
+    if (occupancy.covers(date)) {
+      free = id -> occupancy.isFree(id, date, mask) && !admission.isClaimed(id, date, mask);
+    } else {
+      var taken = bookings.findBookedSlots(date, date).stream()
+          .filter(b -> b.bookingTime().equals(timeSlot) || (b.mask() & mask) != 0)
+          .map(BookedSlot::turfId).collect(Collectors.toSet());
+      free = id -> !taken.contains(id) && !admission.isClaimed(id, date, mask);
+    }
+    return index.search(query, free);
+  }
+}
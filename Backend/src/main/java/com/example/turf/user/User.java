@@ -8,9 +8,13 @@ import java.time.Instant;
 import java.util.Set;
 
 @Entity @Table(name="users")
+@EntityListeners(UserEntityListener.class)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class User {
-  @Id @GeneratedValue(strategy=GenerationType.IDENTITY)
+  /** Pooled sequence (not IDENTITY) so inserts can be JDBC-batched; see IdSequenceAligner. */
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+  @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
   private Long id;
 
   @NotBlank private String fullName;
@@ -26,4 +30,12 @@ public class User {
   private Set<Role> roles;
 
   private Instant createdAt;
+
+  /**
+   * Bumped on every change, including to roles: an element collection has no entity
+   * of its own, so without a version a roles-only change fires no @PostUpdate.
+   */
+  @Version
+  @Column(columnDefinition = "bigint default 0 not null")
+  private long version;
 }
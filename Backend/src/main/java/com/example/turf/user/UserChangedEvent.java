@@ -0,0 +1,4 @@
+package com.example.turf.user;
+
+/** Published after a user row is updated or removed. */
+public record UserChangedEvent(Long userId) {}
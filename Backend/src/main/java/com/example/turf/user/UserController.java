@@ -0,0 +1,30 @@
+package com.example.turf.user;
+
+import com.example.turf.booking.BookingHistory;
+import com.example.turf.booking.dto.BookingCursor;
+import com.example.turf.security.UserPrincipal;
+import com.example.turf.user.dto.UserBookingsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController @RequestMapping("/api/users") @RequiredArgsConstructor
+public class UserController {
+  private final BookingHistory history;
+
+  // Matches ApiService.getUserBookings(userId); own bookings, or anyone's for admins
+  @GetMapping("/get-user-bookings/{userId}")
+  public ResponseEntity<UserBookingsResponse> bookings(
+      @PathVariable Long userId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int limit,
+      @AuthenticationPrincipal UserPrincipal me) {
+    boolean admin = me.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_" + Role.ADMIN.name()));
+    if (!admin && !userId.equals(me.user().getId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    var after = BookingCursor.decode(cursor);
+    if (after == null || limit < 1 || limit > BookingHistory.MAX_PAGE) return ResponseEntity.badRequest().build();
+    return history.ofUser(userId, after, limit).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+  }
+}
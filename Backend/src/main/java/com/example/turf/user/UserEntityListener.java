@@ -0,0 +1,18 @@
+package com.example.turf.user;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/** Turns JPA update/remove callbacks into {@link UserChangedEvent}s; inserts change nobody's session. */
+@Component @RequiredArgsConstructor
+public class UserEntityListener {
+  private final ApplicationEventPublisher events;
+
+  @PostUpdate @PostRemove
+  void changed(User user) {
+    events.publishEvent(new UserChangedEvent(user.getId()));
+  }
+}
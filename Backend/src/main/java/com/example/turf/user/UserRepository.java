@@ -1,8 +1,21 @@
 package com.example.turf.user;
+import com.example.turf.user.dto.UserSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByEmail(String email);
   boolean existsByEmail(String email);
+
+  @Query("select new com.example.turf.user.dto.UserSummary(u.id, u.fullName, u.email) from User u where u.id = :id")
+  Optional<UserSummary> findSummary(@Param("id") Long id);
+
+  /** Rehash on login; a bulk update, so it doesn't count as a user change that revokes sessions. */
+  @Transactional @Modifying
+  @Query("update User u set u.passwordHash = :hash where u.id = :id")
+  int updatePasswordHash(@Param("id") Long id, @Param("hash") String hash);
 }
@@ -0,0 +1,10 @@
+package com.example.turf.user.dto;
+
+import com.example.turf.booking.dto.BookingView;
+
+import java.util.List;
+
+/** Matches ApiService.getUserBookings: the user with one page of their bookings. */
+public record UserBookingsResponse(int statusCode, UserWithBookings user, String nextCursor) {
+  public record UserWithBookings(Long id, String name, String email, List<BookingView> bookings) {}
+}
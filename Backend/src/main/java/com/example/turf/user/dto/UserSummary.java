@@ -0,0 +1,3 @@
+package com.example.turf.user.dto;
+
+public record UserSummary(Long id, String name, String email) {}
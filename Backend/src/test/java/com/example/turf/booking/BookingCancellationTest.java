@@ -0,0 +1,125 @@
+package com.example.turf.booking;
+
+import com.example.turf.booking.BookingCancellation.Outcome;
+import com.example.turf.booking.archive.ArchivedBookingRepository;
+import com.example.turf.booking.dto.BookingRequest;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.occupancy.SlotGrid;
+import com.example.turf.support.BookingWiring;
+import com.example.turf.support.CommittingJpaSliceTest;
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.user.Role;
+import com.example.turf.user.User;
+import com.example.turf.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@CommittingJpaSliceTest
+public class BookingCancellationTest {
+
+  private static final LocalDate DATE = LocalDate.now().plusDays(1);
+  private static final String SLOT = "18:00-20:00";
+
+  @Autowired private BookingRepository bookings;
+  @Autowired private ArchivedBookingRepository archived;
+  @Autowired private TurfRepository turfs;
+  @Autowired private UserRepository users;
+  @Autowired private TransactionTemplate tx;
+  @Autowired private BookingWiring wiring;
+  @Autowired private JdbcTemplate jdbc;
+  @Autowired private EntityManagerFactory emf;
+
+  private OccupancyIndex occupancy;
+  private ConfirmationLookup lookup;
+  private BookingService service;
+  private BookingCancellation cancellation;
+  private Long turfId;
+  private Long ownerId;
+  private Long strangerId;
+
+  @BeforeEach
+  public void seed() {
+    occupancy = wiring.occupancy();
+    service = wiring.service(occupancy, List.of());
+    lookup = new ConfirmationLookup(bookings, archived, 100);
+    cancellation = new BookingCancellation(bookings, occupancy, lookup, tx, wiring.outbox(List.of()));
+    turfId = turfs.save(Turf.builder().name("Evening Turf").area("East End").sportType("Futsal").build()).getId();
+    ownerId = user("owner@example.com");
+    strangerId = user("stranger@example.com");
+  }
+
+  @AfterEach
+  public void clean() {
+    bookings.deleteAll();
+    turfs.deleteAll();
+    users.deleteAll();
+  }
+
+  @Test
+  public void cancelledSlotCanBeBookedAgainRightAway() {
+    var first = service.book(turfId, ownerId, new BookingRequest(DATE, SLOT));
+    assertEquals(BookingStatus.BOOKED, lookup.find(first.confirmationCode()).orElseThrow().status());
+    assertThrows(BookingConflictException.class, () -> service.book(turfId, strangerId, new BookingRequest(DATE, SLOT)));
+
+    assertEquals(Outcome.FORBIDDEN, cancellation.cancel(first.bookingId(), strangerId, false));
+    assertEquals(Outcome.CANCELLED, cancellation.cancel(first.bookingId(), ownerId, false));
+    assertEquals(Outcome.ALREADY_CANCELLED, cancellation.cancel(first.bookingId(), ownerId, false));
+    assertEquals(Outcome.NOT_FOUND, cancellation.cancel(-1L, ownerId, true));
+
+    assertTrue(occupancy.isFree(turfId, DATE, SlotGrid.mask(SLOT)));
+    assertEquals(BookingStatus.CANCELLED, lookup.find(first.confirmationCode()).orElseThrow().status());
+    assertEquals(1, turfs.findAvailable("Futsal", DATE, SLOT, 18 * 60, 20 * 60).size());
+
+    // same turf, date and slot string as the cancelled row: only live rows are unique
+    var second = service.book(turfId, strangerId, new BookingRequest(DATE, SLOT));
+    assertNotEquals(first.bookingId(), second.bookingId());
+    assertEquals(Outcome.CANCELLED, cancellation.cancel(second.bookingId(), ownerId, true));
+    service.book(turfId, ownerId, new BookingRequest(DATE, SLOT));
+    assertEquals(3, bookings.count());
+    assertEquals(1, jdbc.queryForObject("select count(*) from bookings where live = true", Integer.class));
+  }
+
+  @Test
+  public void availabilityIgnoresCancelledRowsOutsideTheIndexedWindow() {
+    var later = LocalDate.now().plusDays(60);
+    var booked = service.book(turfId, ownerId, new BookingRequest(later, SLOT));
+    assertTrue(bookings.existsOverlapping(turfId, later, 19 * 60, 21 * 60));
+    assertTrue(turfs.findAvailable("Futsal", later, SLOT, 18 * 60, 20 * 60).isEmpty());
+
+    cancellation.cancel(booked.bookingId(), ownerId, false);
+
+    assertFalse(bookings.existsOverlapping(turfId, later, 19 * 60, 21 * 60));
+    assertFalse(bookings.existsByTurfIdAndBookingDateAndBookingTimeAndLiveTrue(turfId, later, SLOT));
+    assertTrue(bookings.findBookedSlotsOfTurf(turfId, Set.of(later)).isEmpty());
+    assertEquals(1, turfs.findAvailable("Futsal", later, SLOT, 18 * 60, 20 * 60).size());
+  }
+
+  @Test
+  public void migrationMarksExistingActiveBookingsLive() {
+    service.book(turfId, ownerId, new BookingRequest(DATE, "06:00-08:00"));
+    var cancelled = service.book(turfId, ownerId, new BookingRequest(DATE, "08:00-10:00"));
+    cancellation.cancel(cancelled.bookingId(), ownerId, false);
+    jdbc.update("update bookings set live = null");
+
+    assertEquals(1, new BookingSchemaMigration(jdbc, emf).backfillLive());
+    assertEquals(1, jdbc.queryForObject("select count(*) from bookings where live = true and status = 'BOOKED'", Integer.class));
+  }
+
+  private Long user(String email) {
+    return users.save(User.builder().fullName(email).email(email).passwordHash("x")
+        .roles(Set.of(Role.USER)).createdAt(Instant.now()).build()).getId();
+  }
+}
@@ -0,0 +1,159 @@
+package com.example.turf.booking;
+
+import com.example.turf.booking.dto.BookingRequest;
+import com.example.turf.support.BookingWiring;
+import com.example.turf.support.CommittingJpaSliceTest;
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.user.Role;
+import com.example.turf.user.User;
+import com.example.turf.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Fires thousands of parallel bookings at one slot against a real (H2) unique constraint. */
+@CommittingJpaSliceTest
+public class BookingConcurrencyTest {
+
+  private static final int REQUESTS = 4000;
+  private static final int THREADS = 64;
+
+  @Autowired private BookingRepository bookings;
+  @Autowired private TurfRepository turfs;
+  @Autowired private UserRepository users;
+  @Autowired private BookingWiring wiring;
+
+  private Long turfId;
+  private Long userId;
+
+  @BeforeEach
+  public void seed() {
+    turfId = turfs.save(Turf.builder().name("Stress Turf").area("City Center").sportType("Football").build()).getId();
+    userId = users.save(User.builder().fullName("Racer").email("racer@example.com").passwordHash("x")
+        .roles(Set.of(Role.USER)).createdAt(Instant.now()).build()).getId();
+  }
+
+  @AfterEach
+  public void clean() {
+    bookings.deleteAll();
+    turfs.deleteAll();
+    users.deleteAll();
+  }
+
+  @Test
+  public void exactlyOneOfThousandsOfRacersWins() throws Exception {
+    var result = race(List.of(wiring.service()), LocalDate.now().plusDays(3));
+
+    assertEquals(1, result.won());
+    assertEquals(REQUESTS - 1, result.conflicts());
+    assertEquals(1, bookings.count());
+  }
+
+  @Test
+  public void uniqueConstraintDecidesBetweenInstancesThatDoNotShareAdmission() throws Exception {
+    var result = race(List.of(wiring.service(), wiring.service()), LocalDate.now().plusDays(30));
+
+    assertEquals(1, result.won());
+    assertEquals(REQUESTS - 1, result.conflicts());
+    assertEquals(1, bookings.count());
+  }
+
+  @Test
+  public void aConfirmedHoldIsCheckedAgainstBookingsMadeByOtherInstances() {
+    var date = LocalDate.now().plusDays(60); // outside the index, so only the database knows
+    var a = wiring.service();
+    var b = wiring.service();
+    var hold = a.hold(turfId, userId, new BookingRequest(date, "18:00-20:00"));
+    b.book(turfId, userId, new BookingRequest(date, "19:00-21:00"));
+
+    assertThrows(BookingConflictException.class, () -> a.confirmHold(hold.holdId(), userId));
+    assertEquals(1, bookings.count());
+  }
+
+  @Test
+  public void partialOverlapsFromOtherInstancesAreRejectedInsideTheIndexedWindowToo() {
+    var date = LocalDate.now().plusDays(2); // both indexes cover it, neither sees the other's writes
+    var a = wiring.service();
+    var b = wiring.service();
+    var hold = a.hold(turfId, userId, new BookingRequest(date, "18:00-20:00"));
+    b.book(turfId, userId, new BookingRequest(date, "19:00-21:00"));
+
+    assertThrows(BookingConflictException.class, () -> a.book(turfId, userId, new BookingRequest(date, "20:30-21:30")));
+    assertThrows(BookingConflictException.class, () -> a.confirmHold(hold.holdId(), userId));
+    assertEquals(1, bookings.count());
+  }
+
+  @Test
+  public void onlyActiveTurfsAndKnownUsersCanHold() {
+    var service = wiring.service();
+    var req = new BookingRequest(LocalDate.now().plusDays(1), "18:00-20:00");
+    var closed = turfs.save(Turf.builder().name("Closed").area("City Center").sportType("Football").active(false).build());
+
+    assertThrows(IllegalArgumentException.class, () -> service.hold(closed.getId(), userId, req));
+    assertThrows(IllegalArgumentException.class, () -> service.hold(-1L, userId, req));
+    assertThrows(IllegalArgumentException.class, () -> service.hold(turfId, -1L, req));
+    assertEquals(200, service.hold(turfId, userId, req).statusCode());
+  }
+
+  @Test
+  public void onlyTheSlotConstraintCountsAsTaken() {
+    var turf = turfs.findById(turfId).orElseThrow();
+    var user = users.findById(userId).orElseThrow();
+    var date = LocalDate.now().plusDays(5);
+    bookings.saveAndFlush(booking(turf, user, date, "10:00-11:00", 1L));
+
+    var sameSlot = assertThrows(DataIntegrityViolationException.class,
+        () -> bookings.saveAndFlush(booking(turf, user, date, "10:00-11:00", 2L)));
+    assertTrue(BookingService.slotTaken(sameSlot));
+    var sameRef = assertThrows(DataIntegrityViolationException.class,
+        () -> bookings.saveAndFlush(booking(turf, user, date, "12:00-13:00", 1L)));
+    assertFalse(BookingService.slotTaken(sameRef));
+  }
+
+  private static Booking booking(Turf turf, User user, LocalDate date, String time, long ref) {
+    var slot = TimeSlot.parse(time);
+    return Booking.builder().turf(turf).user(user).bookingDate(date).bookingTime(time)
+        .slotStart(slot.startMinute()).slotEnd(slot.endMinute()).status(BookingStatus.BOOKED)
+        .confirmationRef(ref).createdAt(Instant.now()).build();
+  }
+
+  private record Result(int won, int conflicts) {}
+
+  private Result race(List<BookingService> instances, LocalDate date) throws Exception {
+    var pool = Executors.newFixedThreadPool(THREADS);
+    var start = new CountDownLatch(1);
+    var won = new AtomicInteger();
+    var conflicts = new AtomicInteger();
+    var futures = new ArrayList<Future<?>>();
+    for (int i = 0; i < REQUESTS; i++) {
+      var service = instances.get(i % instances.size());
+      futures.add(pool.submit(() -> {
+        start.await();
+        try {
+          service.book(turfId, userId, new BookingRequest(date, "18:00-20:00"));
+          won.incrementAndGet();
+        } catch (BookingConflictException e) {
+          conflicts.incrementAndGet();
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (var f : futures) f.get(60, TimeUnit.SECONDS);
+    pool.shutdown();
+    return new Result(won.get(), conflicts.get());
+  }
+}
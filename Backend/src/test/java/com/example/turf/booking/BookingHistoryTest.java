@@ -0,0 +1,127 @@
+package com.example.turf.booking;
+
+import com.example.turf.booking.archive.ArchivedBookingRepository;
+import com.example.turf.booking.archive.BookingArchiver;
+import com.example.turf.booking.dto.BookingCursor;
+import com.example.turf.booking.dto.BookingView;
+import com.example.turf.support.JpaSliceTest;
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.user.Role;
+import com.example.turf.user.User;
+import com.example.turf.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JpaSliceTest
+public class BookingHistoryTest {
+
+  private static final LocalDate DAY = LocalDate.now().plusDays(7);
+  private static final String[] SLOTS = {"06:00-08:00", "08:00-10:00", "10:00-12:00"};
+
+  @Autowired private BookingRepository bookings;
+  @Autowired private ArchivedBookingRepository archived;
+  @Autowired private JdbcTemplate jdbc;
+  @Autowired private TurfRepository turfs;
+  @Autowired private UserRepository users;
+  @Autowired private TransactionTemplate tx;
+  @Autowired private EntityManager em;
+
+  private BookingHistory history;
+  private final List<Booking> seeded = new ArrayList<>();
+  private User alice;
+
+  @BeforeEach
+  public void seed() {
+    var mapper = new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    history = new BookingHistory(bookings, archived, new BookingArchiver(jdbc, tx, 30, 500), users, mapper, tx);
+    var turf = turfs.save(Turf.builder().name("Centre, Court").area("East").sportType("Tennis").build());
+    alice = users.save(user("Alice", "alice@example.com"));
+    var bob = users.save(user("=Bob", "bob@example.com"));
+    for (int day = 0; day < 4; day++) {
+      for (int s = 0; s < SLOTS.length; s++) {
+        seeded.add(bookings.save(Booking.builder().turf(turf).user(s == 1 ? bob : alice)
+            .bookingDate(DAY.plusDays(day)).bookingTime(SLOTS[s]).status(BookingStatus.BOOKED)
+            .confirmationCode(UUID.randomUUID().toString()).createdAt(Instant.now()).build()));
+      }
+    }
+    em.flush();
+    em.clear();
+  }
+
+  @Test
+  public void pagesSeekThroughEveryBookingNewestFirstWithOneQueryEach() {
+    var stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    var seen = new ArrayList<Long>();
+    var cursor = BookingCursor.FIRST;
+    int pages = 0;
+    stats.clear();
+    while (true) {
+      var page = history.all(cursor, 5);
+      pages++;
+      page.bookingList().stream().map(BookingView::id).forEach(seen::add);
+      if (page.nextCursor() == null) break;
+      cursor = BookingCursor.decode(page.nextCursor());
+    }
+
+    var expected = seeded.stream()
+        .sorted(Comparator.comparing(Booking::getBookingDate).thenComparing(Booking::getId).reversed())
+        .map(Booking::getId).toList();
+    assertEquals(expected, seen);
+    assertEquals(3, pages);
+    // full pages inside the hot window never touch the archive; the last, short one probes it once
+    assertEquals(pages + 1, stats.getPrepareStatementCount());
+    assertEquals(0, stats.getEntityLoadCount());
+  }
+
+  @Test
+  public void userHistoryOnlyHasTheirOwnBookings() {
+    var first = history.ofUser(alice.getId(), BookingCursor.FIRST, 100).orElseThrow();
+    assertEquals("Alice", first.user().name());
+    assertEquals(8, first.user().bookings().size());
+    assertTrue(first.user().bookings().stream().allMatch(b -> b.userId().equals(alice.getId())));
+    assertEquals("Tennis", first.user().bookings().get(0).sportType());
+    assertNull(first.nextCursor());
+    assertTrue(history.ofUser(-1L, BookingCursor.FIRST, 10).isEmpty());
+    assertNull(BookingCursor.decode("not a cursor"));
+  }
+
+  @Test
+  public void exportsStreamOneLinePerBooking() {
+    var ndjson = new ByteArrayOutputStream();
+    history.export(BookingHistory.Format.NDJSON, DAY, DAY.plusDays(1), ndjson);
+    var lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(6, lines.length);
+    assertTrue(lines[0].contains("\"bookingDate\":\"" + DAY + "\""));
+
+    var csv = new ByteArrayOutputStream();
+    history.export(BookingHistory.Format.CSV, DAY, DAY, csv);
+    var rows = csv.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(4, rows.length);
+    assertTrue(rows[1].contains(",\"Centre, Court\",Tennis,"));
+    assertTrue(rows[2].contains(",'=Bob,"));
+  }
+
+  private static User user(String name, String email) {
+    return User.builder().fullName(name).email(email).passwordHash("x").roles(Set.of(Role.USER)).createdAt(Instant.now()).build();
+  }
+}
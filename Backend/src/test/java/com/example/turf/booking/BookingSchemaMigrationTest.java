@@ -0,0 +1,58 @@
+package com.example.turf.booking;
+
+import com.example.turf.support.JpaSliceTest;
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JpaSliceTest
+public class BookingSchemaMigrationTest {
+
+  @Autowired private BookingRepository bookings;
+  @Autowired private TurfRepository turfs;
+  @Autowired private JdbcTemplate jdbc;
+  @Autowired private EntityManagerFactory emf;
+
+  @Test
+  public void parsesTimeSlots() {
+    assertEquals(new TimeSlot(360, 480), TimeSlot.parse("06:00-08:00"));
+    assertEquals("22:00-24:00", TimeSlot.parse(" 22:00 - 24:00 ").toString());
+    assertTrue(TimeSlot.parse("06:00-08:00").overlaps(TimeSlot.parse("07:30-09:00")));
+    assertFalse(TimeSlot.parse("06:00-08:00").overlaps(TimeSlot.parse("08:00-10:00")));
+    assertTrue(TimeSlot.tryParse("after lunch").isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> TimeSlot.parse("10:00-09:00"));
+    assertTrue("23:30-24:00".matches(TimeSlot.PATTERN));
+    assertFalse("24:00-24:30".matches(TimeSlot.PATTERN));
+    assertFalse("06:15-07:15".matches(TimeSlot.PATTERN));
+  }
+
+  @Test
+  public void backfillsTypedSlotsOnLegacyRowsInBatches() {
+    var turf = turfs.save(Turf.builder().name("Legacy Turf").area("South Zone").sportType("Cricket").build());
+    var date = LocalDate.now().plusDays(1);
+    int rows = BookingSchemaMigration.BATCH + 20;
+    for (int i = 0; i < rows; i++) {
+      bookings.save(Booking.builder().turf(turf).bookingDate(date.plusDays(i))
+          .bookingTime(i == 0 ? "after lunch" : "06:00-08:00").status(BookingStatus.BOOKED)
+          .confirmationCode(UUID.randomUUID().toString()).createdAt(Instant.now()).build());
+    }
+    bookings.flush();
+
+    int updated = new BookingSchemaMigration(jdbc, emf).backfillSlots();
+
+    assertEquals(rows - 1, updated);
+    assertEquals(List.of(360), jdbc.queryForList("select distinct slot_start from bookings where slot_start is not null", Integer.class));
+    assertEquals(1, jdbc.queryForObject("select count(*) from bookings where slot_start is null", Integer.class));
+    assertTrue(bookings.existsOverlapping(turf.getId(), date.plusDays(1), 7 * 60, 9 * 60));
+  }
+}
@@ -0,0 +1,103 @@
+package com.example.turf.booking;
+
+import com.example.turf.booking.dto.BookingRequest;
+import com.example.turf.booking.dto.BulkBookingRequest;
+import com.example.turf.booking.dto.BulkBookingResponse.SlotResult;
+import com.example.turf.booking.dto.BulkBookingResponse.Status;
+import com.example.turf.support.BookingWiring;
+import com.example.turf.support.CommittingJpaSliceTest;
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.user.Role;
+import com.example.turf.user.User;
+import com.example.turf.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@CommittingJpaSliceTest
+public class BulkBookingTest {
+
+  private static final LocalDate FIRST_GAME = LocalDate.now().plusDays(90);
+
+  @Autowired private BookingRepository bookings;
+  @Autowired private TurfRepository turfs;
+  @Autowired private UserRepository users;
+  @Autowired private BookingWiring wiring;
+  @Autowired private EntityManagerFactory emf;
+
+  private BookingService service;
+  private Long turfId;
+  private Long userId;
+
+  @BeforeEach
+  public void seed() {
+    service = wiring.service();
+    turfId = turfs.save(Turf.builder().name("League Turf").area("North Side").sportType("Football").build()).getId();
+    userId = users.save(User.builder().fullName("League").email("league@example.com").passwordHash("x")
+        .roles(Set.of(Role.USER)).createdAt(Instant.now()).build()).getId();
+  }
+
+  @AfterEach
+  public void clean() {
+    bookings.deleteAll();
+    turfs.deleteAll();
+    users.deleteAll();
+  }
+
+  @Test
+  public void seasonIsBookedWithOneOccupancyQueryAndBatchedInserts() {
+    var stats = emf.unwrap(SessionFactory.class).getStatistics();
+    stats.clear();
+
+    var resp = service.bookAll(turfId, userId, new BulkBookingRequest(weekly(40), null));
+
+    assertEquals(200, resp.statusCode());
+    assertTrue(resp.results().stream().allMatch(r -> r.status() == Status.BOOKED && r.bookingId() != null));
+    assertEquals(40, bookings.count());
+    // turf + user + occupancy + 1 sequence call + 1 insert batch
+    assertTrue(stats.getPrepareStatementCount() <= 6, "statements: " + stats.getPrepareStatementCount());
+  }
+
+  @Test
+  public void allOrNothingBooksNoneWhenOneSlotIsTaken() {
+    service.book(turfId, userId, weekly(10).get(4));
+
+    var resp = service.bookAll(turfId, userId, new BulkBookingRequest(weekly(10), BulkBookingRequest.Mode.ALL_OR_NOTHING));
+
+    assertEquals(409, resp.statusCode());
+    assertEquals(Status.CONFLICT, resp.results().get(4).status());
+    assertEquals(9, resp.results().stream().filter(r -> r.status() == Status.SKIPPED).count());
+    assertEquals(1, bookings.count());
+  }
+
+  @Test
+  public void partialModeBooksEverythingThatIsFree() {
+    service.book(turfId, userId, weekly(10).get(4));
+    var slots = new java.util.ArrayList<>(weekly(10));
+    slots.add(new BookingRequest(FIRST_GAME, "19:00-21:00")); // overlaps slot 0 of the same request
+
+    var resp = service.bookAll(turfId, userId, new BulkBookingRequest(slots, BulkBookingRequest.Mode.PARTIAL));
+
+    assertEquals(200, resp.statusCode());
+    assertEquals(List.of(4, 10), IntStream.range(0, slots.size())
+        .filter(i -> resp.results().get(i).status() == Status.CONFLICT).boxed().toList());
+    assertEquals(10, bookings.count());
+    assertEquals(9, resp.results().stream().map(SlotResult::bookingId).filter(id -> id != null).distinct().count());
+  }
+
+  private static List<BookingRequest> weekly(int games) {
+    return IntStream.range(0, games).mapToObj(i -> new BookingRequest(FIRST_GAME.plusWeeks(i), "18:00-20:00")).toList();
+  }
+}
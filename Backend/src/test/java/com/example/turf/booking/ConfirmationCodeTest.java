@@ -0,0 +1,66 @@
+package com.example.turf.booking;
+
+import com.example.turf.booking.archive.ArchivedBookingRepository;
+import com.example.turf.booking.dto.CheckInView;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ConfirmationCodeTest {
+
+  @Test
+  public void codesRoundTripAndSortByIssueTime() {
+    var now = Instant.parse("2026-10-18T09:00:00Z");
+    var first = ConfirmationCode.next(now);
+    var later = ConfirmationCode.next(now.plusSeconds(1));
+    var text = first.toString();
+
+    assertEquals(15, text.length());
+    assertEquals('-', text.charAt(7));
+    assertEquals(Optional.of(first), ConfirmationCode.parse(text));
+    assertEquals(Optional.of(first), ConfirmationCode.parse(text.toLowerCase().replace("-", " ")));
+    assertTrue(first.value() < later.value());
+    assertTrue(text.compareTo(later.toString()) < 0);
+  }
+
+  @Test
+  public void typosAndForeignStringsAreRejected() {
+    var text = ConfirmationCode.next(Instant.now()).toString().replace("-", "");
+    for (int i = 0; i < text.length(); i++) {
+      char wrong = text.charAt(i) == 'A' ? 'B' : 'A';
+      assertTrue(ConfirmationCode.parse(text.substring(0, i) + wrong + text.substring(i + 1)).isEmpty(), "digit " + i);
+    }
+    var swapped = text.charAt(3) == text.charAt(4) ? text : text.substring(0, 3) + text.charAt(4) + text.charAt(3) + text.substring(5);
+    if (!swapped.equals(text)) assertTrue(ConfirmationCode.parse(swapped).isEmpty());
+    assertTrue(ConfirmationCode.parse("' or 1=1 --").isEmpty());
+    assertTrue(ConfirmationCode.parse(text + "0").isEmpty());
+    assertTrue(ConfirmationCode.isLegacy(UUID.randomUUID().toString()));
+    assertFalse(ConfirmationCode.isLegacy(text));
+  }
+
+  @Test
+  public void lookupQueriesOnlyForWellFormedCodesAndCachesHits() {
+    var bookings = mock(BookingRepository.class);
+    var lookup = new ConfirmationLookup(bookings, mock(ArchivedBookingRepository.class), 10);
+    var code = ConfirmationCode.next(Instant.now());
+    var view = new CheckInView(1L, null, code.value(), LocalDate.now(), "06:00-08:00", BookingStatus.BOOKED,
+        Instant.now(), 2L, "Turf", "Football");
+    when(bookings.findCheckInByConfirmationRef(code.value())).thenReturn(Optional.of(view));
+    String legacy = UUID.randomUUID().toString();
+
+    assertFalse(ConfirmationLookup.isWellFormed("nope"));
+    assertEquals(code.toString(), lookup.find(code.toString()).orElseThrow().confirmationCode());
+    assertTrue(lookup.find(code.toString().toLowerCase()).isPresent());
+    assertTrue(lookup.find(legacy.toUpperCase()).isEmpty());
+
+    verify(bookings, times(1)).findCheckInByConfirmationRef(anyLong());
+    verify(bookings).findCheckInByLegacyCode(legacy);
+  }
+}
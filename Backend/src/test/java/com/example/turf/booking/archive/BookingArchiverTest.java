@@ -0,0 +1,129 @@
+package com.example.turf.booking.archive;
+
+import com.example.turf.booking.Booking;
+import com.example.turf.booking.BookingHistory;
+import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.BookingStatus;
+import com.example.turf.booking.ConfirmationCode;
+import com.example.turf.booking.ConfirmationLookup;
+import com.example.turf.booking.dto.BookingCursor;
+import com.example.turf.booking.dto.BookingView;
+import com.example.turf.support.CommittingJpaSliceTest;
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.user.Role;
+import com.example.turf.user.User;
+import com.example.turf.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@CommittingJpaSliceTest
+public class BookingArchiverTest {
+
+  private static final Clock CLOCK = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+  private static final LocalDate TODAY = LocalDate.now(CLOCK);
+
+  @Autowired private BookingRepository bookings;
+  @Autowired private ArchivedBookingRepository archived;
+  @Autowired private TurfRepository turfs;
+  @Autowired private UserRepository users;
+  @Autowired private TransactionTemplate tx;
+  @Autowired private JdbcTemplate jdbc;
+
+  private BookingArchiver archiver;
+  private BookingHistory history;
+  private final List<Booking> seeded = new ArrayList<>();
+
+  @BeforeEach
+  public void seed() {
+    archiver = new BookingArchiver(jdbc, tx, 30, 7, CLOCK);
+    var mapper = new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    history = new BookingHistory(bookings, archived, archiver, users, mapper, tx);
+    var turf = turfs.save(Turf.builder().name("Old Ground").area("West").sportType("Cricket").build());
+    var user = users.save(User.builder().fullName("Veteran").email("veteran@example.com").passwordHash("x")
+        .roles(Set.of(Role.USER)).createdAt(Instant.now()).build());
+    // 40 days of history up to two days ahead; every fifth booking was cancelled
+    for (int day = -40; day <= 2; day++) {
+      seeded.add(bookings.save(Booking.builder().turf(turf).user(user).bookingDate(TODAY.plusDays(day))
+          .bookingTime("06:00-08:00").slotStart(360).slotEnd(480)
+          .status(day % 5 == 0 ? BookingStatus.CANCELLED : BookingStatus.BOOKED)
+          .confirmationRef(ConfirmationCode.next(Instant.now()).value()).createdAt(Instant.now()).build()));
+    }
+  }
+
+  @AfterEach
+  public void clean() {
+    archived.deleteAll();
+    bookings.deleteAll();
+    turfs.deleteAll();
+    users.deleteAll();
+  }
+
+  @Test
+  public void movesEverythingBeforeTheCutoffInBatches() {
+    assertEquals(TODAY.minusDays(30), archiver.cutoff());
+
+    assertEquals(10, archiver.archive());
+    assertEquals(0, archiver.archive());
+
+    assertEquals(10, archived.count());
+    assertEquals(33, bookings.count());
+    assertEquals(archiver.cutoff(), jdbc.queryForObject("select min(booking_date) from bookings", LocalDate.class));
+    assertEquals(2, jdbc.queryForObject("select count(*) from bookings_archive where status = 'CANCELLED'", Integer.class));
+  }
+
+  @Test
+  public void historyLookupsAndExportsStillSeeArchivedBookings() {
+    archiver.archive();
+
+    var seen = new ArrayList<Long>();
+    var cursor = BookingCursor.FIRST;
+    while (true) {
+      var page = history.all(cursor, 8);
+      page.bookingList().stream().map(BookingView::id).forEach(seen::add);
+      if (page.nextCursor() == null) break;
+      cursor = BookingCursor.decode(page.nextCursor());
+    }
+    var newestFirst = seeded.stream()
+        .sorted(Comparator.comparing(Booking::getBookingDate).thenComparing(Booking::getId).reversed())
+        .map(Booking::getId).toList();
+    assertEquals(newestFirst, seen);
+    assertEquals(43, history.ofUser(seeded.get(0).getUser().getId(), BookingCursor.FIRST, 100)
+        .orElseThrow().user().bookings().size());
+
+    var oldest = seeded.get(0);
+    var lookup = new ConfirmationLookup(bookings, archived, 10);
+    assertEquals(oldest.getId(), lookup.find(oldest.displayCode()).orElseThrow().id());
+
+    var out = new ByteArrayOutputStream();
+    history.export(BookingHistory.Format.CSV, TODAY.minusDays(35), TODAY.minusDays(25), out);
+    var rows = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(12, rows.length);
+    assertTrue(rows[1].contains("," + TODAY.minusDays(35) + ","));
+    assertTrue(rows[11].contains("," + TODAY.minusDays(25) + ","));
+  }
+
+  @Test
+  public void refusesToArchiveTheHotWindow() {
+    assertThrows(IllegalArgumentException.class, () -> new BookingArchiver(jdbc, tx, 0, 500, CLOCK));
+  }
+}
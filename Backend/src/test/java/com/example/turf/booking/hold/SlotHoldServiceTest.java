@@ -0,0 +1,106 @@
+package com.example.turf.booking.hold;
+
+import com.example.turf.booking.BookingConflictException;
+import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.occupancy.SlotAdmission;
+import com.example.turf.booking.occupancy.SlotGrid;
+import com.example.turf.common.ratelimit.RateLimitedException;
+import com.example.turf.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SlotHoldServiceTest {
+
+  private final LocalDate date = LocalDate.now().plusDays(1);
+  private final MutableClock clock = new MutableClock();
+  private final BookingRepository bookings = mock(BookingRepository.class);
+  private final OccupancyIndex occupancy = new OccupancyIndex(bookings, 14, 1000);
+  private final SlotAdmission admission = new SlotAdmission(occupancy);
+  private final SlotHoldService holds = new SlotHoldService(admission, occupancy, bookings, Duration.ofMinutes(5), 2, 3, clock);
+
+  SlotHoldServiceTest() {
+    when(bookings.findBookedSlots(any(), any())).thenReturn(List.of());
+    occupancy.warm();
+  }
+
+  @Test
+  public void heldSlotIsTakenForEveryoneElse() {
+    holds.hold(1L, 10L, date, "18:00-20:00");
+
+    assertTrue(admission.isClaimed(1L, date, SlotGrid.mask("19:00-20:00")));
+    assertThrows(BookingConflictException.class, () -> holds.hold(1L, 11L, date, "18:00-20:00"));
+    assertThrows(BookingConflictException.class, () -> admission.claim(1L, date, "18:00-20:00"));
+  }
+
+  @Test
+  public void expiredHoldsAreSweptAndCannotBeConfirmed() {
+    var hold = holds.hold(1L, 10L, date, "18:00-20:00");
+
+    clock.advance(Duration.ofMinutes(5).plusSeconds(1));
+    holds.sweep();
+
+    assertEquals(0, holds.active());
+    assertFalse(admission.isClaimed(1L, date, SlotGrid.mask("18:00-20:00")));
+    assertThrows(BookingConflictException.class, () -> holds.take(hold.id(), 10L));
+  }
+
+  @Test
+  public void onlyTheOwnerCanTakeOrReleaseAHold() {
+    var hold = holds.hold(1L, 10L, date, "18:00-20:00");
+
+    assertThrows(BookingConflictException.class, () -> holds.release(hold.id(), 11L));
+    holds.release(hold.id(), 10L);
+
+    assertFalse(admission.isClaimed(1L, date, SlotGrid.mask("18:00-20:00")));
+    assertNotNull(holds.hold(1L, 11L, date, "18:00-20:00"));
+  }
+
+  @Test
+  public void datesOutsideTheIndexAreCheckedAgainstTheDatabaseOnce() {
+    var later = LocalDate.now().plusDays(60);
+    when(bookings.existsOverlapping(1L, later, 18 * 60, 20 * 60)).thenReturn(true);
+
+    assertThrows(BookingConflictException.class, () -> holds.hold(1L, 10L, later, "18:00-20:00"));
+    assertFalse(admission.isClaimed(1L, later, SlotGrid.mask("18:00-20:00")));
+  }
+
+  @Test
+  public void pastDatesCannotBeHeld() {
+    assertThrows(IllegalArgumentException.class, () -> holds.hold(1L, 10L, LocalDate.now().minusDays(1), "18:00-20:00"));
+    assertEquals(0, holds.active());
+  }
+
+  @Test
+  public void eachUserHoldsAFewSlotsAndTheMapIsCapped() {
+    var first = holds.hold(1L, 10L, date, "06:00-07:00");
+    holds.hold(1L, 10L, date, "07:00-08:00");
+    assertThrows(RateLimitedException.class, () -> holds.hold(1L, 10L, date, "08:00-09:00"));
+    assertFalse(admission.isClaimed(1L, date, SlotGrid.mask("08:00-09:00")));
+
+    holds.release(first.id(), 10L);
+    holds.hold(1L, 10L, date, "08:00-09:00");
+    holds.hold(1L, 11L, date, "09:00-10:00");
+    assertThrows(RateLimitedException.class, () -> holds.hold(1L, 12L, date, "10:00-11:00"));
+
+    clock.advance(Duration.ofMinutes(6));
+    holds.sweep();
+    assertNotNull(holds.hold(1L, 10L, date, "10:00-11:00")); // swept holds no longer count
+  }
+
+  @Test
+  public void aRejectedHoldDoesNotUseUpTheUsersQuota() {
+    holds.hold(1L, 10L, date, "06:00-07:00");
+    assertThrows(BookingConflictException.class, () -> holds.hold(1L, 11L, date, "06:00-07:00"));
+    assertThrows(BookingConflictException.class, () -> holds.hold(1L, 11L, date, "06:30-07:30"));
+
+    holds.hold(1L, 11L, date, "07:00-08:00");
+    assertNotNull(holds.hold(1L, 11L, date, "08:00-09:00"));
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.turf.booking.occupancy;
+
+import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.dto.BookedSlot;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class OccupancyCalendarTest {
+
+  private final LocalDate from = LocalDate.of(2026, 10, 19);
+  private final BookingRepository bookings = mock(BookingRepository.class);
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  public void writesOneHexMaskPerTurfAndDayFromASingleQuery() throws Exception {
+    when(bookings.streamBookedSlots(any(), any(), any())).thenReturn(Stream.of(
+        new BookedSlot(1L, from, "06:00-08:00"),
+        new BookedSlot(1L, from, "08:00-09:00"),
+        new BookedSlot(1L, from.plusDays(2), "morning"),
+        new BookedSlot(3L, from.plusDays(1), "22:00-24:00")));
+    var tm = mock(PlatformTransactionManager.class);
+    when(tm.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    var admission = new SlotAdmission(new OccupancyIndex(bookings, 14, 1000));
+    var calendar = new OccupancyCalendar(bookings, admission, mapper, new TransactionTemplate(tm));
+
+    try (var held = admission.claim(2L, from, "10:00-11:00")) {
+      var out = new ByteArrayOutputStream();
+      calendar.write(List.of(3L, 1L, 2L, 1L), from, from.plusDays(2), out);
+      var json = mapper.readTree(out.toByteArray());
+
+      assertEquals(30, json.get("cellMinutes").asInt());
+      var turfs = json.get("turfs");
+      assertEquals(3, turfs.size());
+      assertEquals(List.of("3f000", "0", "ffffffffffff"), days(turfs.get(0)));
+      assertEquals(List.of("300000", "0", "0"), days(turfs.get(1)));
+      assertEquals(List.of("0", "f00000000000", "0"), days(turfs.get(2)));
+    }
+    verify(bookings, times(1)).streamBookedSlots(List.of(1L, 2L, 3L), from, from.plusDays(2));
+  }
+
+  @Test
+  public void theTransactionEndsBeforeTheClientIsWrittenTo() {
+    when(bookings.streamBookedSlots(any(), any(), any())).thenReturn(Stream.of(new BookedSlot(1L, from, "06:00-08:00")));
+    var tm = mock(PlatformTransactionManager.class);
+    when(tm.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    var calendar = new OccupancyCalendar(bookings, new SlotAdmission(new OccupancyIndex(bookings, 14, 1000)), mapper,
+        new TransactionTemplate(tm));
+
+    var out = new ByteArrayOutputStream() {
+      @Override public void write(byte[] b, int off, int len) {
+        verify(tm).commit(any()); // a slow client must not hold the connection
+        super.write(b, off, len);
+      }
+    };
+    calendar.write(List.of(1L), from, from.plusDays(6), out);
+    assertTrue(out.size() > 0);
+  }
+
+  private static List<String> days(JsonNode turf) {
+    var out = new ArrayList<String>();
+    turf.get("days").forEach(d -> out.add(d.asText()));
+    return out;
+  }
+}
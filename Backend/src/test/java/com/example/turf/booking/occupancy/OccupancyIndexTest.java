@@ -0,0 +1,97 @@
+package com.example.turf.booking.occupancy;
+
+import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.TimeSlot;
+import com.example.turf.booking.dto.BookedSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class OccupancyIndexTest {
+
+  private final LocalDate today = LocalDate.now();
+  private final BookingRepository bookings = mock(BookingRepository.class);
+
+  @Test
+  public void slotStringsMapOntoHalfHourCells() {
+    assertEquals(0b1111L << 12, SlotGrid.mask("06:00-08:00"));
+    assertEquals(0b1111L << 44, SlotGrid.mask("22:00-24:00"));
+    assertEquals(0b111L << 14, SlotGrid.mask("07:15-08:30"));
+    assertNotEquals(0, SlotGrid.mask("06:00-08:00") & SlotGrid.mask("07:00-09:00"));
+    assertEquals(0, SlotGrid.mask("06:00-08:00") & SlotGrid.mask("08:00-10:00"));
+    assertEquals(0, SlotGrid.mask("evening"));
+    assertEquals(0, SlotGrid.mask("08:00-06:00"));
+    assertEquals(0, SlotGrid.mask("25:00-26:00"));
+  }
+
+  @Test
+  public void bookableSlotsOverlapOnTheGridExactlyWhenTheirMinutesDo() {
+    // the evening up to 24:00, every bookable slot against every slot at 15-minute resolution
+    int from = 18 * 60;
+    for (int a = from; a < 24 * 60; a += 30) {
+      for (int b = a + 30; b <= 24 * 60; b += 30) {
+        var bookable = new TimeSlot(a, b);
+        assertTrue(bookable.toString().matches(TimeSlot.PATTERN), bookable.toString());
+        for (int s = from; s < 24 * 60; s += 15) {
+          for (int e = s + 15; e <= 24 * 60; e += 15) {
+            var other = new TimeSlot(s, e);
+            assertEquals(bookable.overlaps(other), (SlotGrid.mask(bookable) & SlotGrid.mask(other)) != 0,
+                () -> bookable + " vs " + other);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void warmedDatesAnswerFromMemoryAndTrackWrites() {
+    when(bookings.findBookedSlots(any(), any())).thenReturn(List.of(new BookedSlot(1L, today, "06:00-08:00")));
+    var index = new OccupancyIndex(bookings, 14, 1000);
+    index.warm();
+
+    assertTrue(index.covers(today));
+    assertFalse(index.covers(today.plusDays(14)));
+    assertFalse(index.isFree(1L, today, SlotGrid.mask("07:00-09:00")));
+    assertTrue(index.isFree(2L, today, SlotGrid.mask("07:00-09:00")));
+
+    index.markBookedAfterCommit(2L, today, "18:00-20:00");
+    assertFalse(index.isFree(2L, today, SlotGrid.mask("18:00-20:00")));
+    index.releaseAfterCommit(2L, today, "18:00-20:00");
+    assertTrue(index.isFree(2L, today, SlotGrid.mask("18:00-20:00")));
+    verify(bookings, times(1)).findBookedSlots(any(), any());
+  }
+
+  @Test
+  public void unparseableSlotsAndBudgetOverflowFallBackToTheDatabase() {
+    when(bookings.findBookedSlots(any(), any())).thenReturn(List.of(
+        new BookedSlot(1L, today, "morning"),
+        new BookedSlot(1L, today.plusDays(1), "06:00-08:00"),
+        new BookedSlot(1L, today.plusDays(2), "06:00-08:00"),
+        new BookedSlot(2L, today.plusDays(2), "06:00-08:00")));
+    var index = new OccupancyIndex(bookings, 14, 2);
+    index.warm();
+
+    assertFalse(index.covers(today));
+    assertTrue(index.covers(today.plusDays(1)));
+    assertFalse(index.covers(today.plusDays(2)));
+    assertTrue(index.stats().entries() <= 2);
+  }
+
+  @Test
+  public void verifyReloadsDatesThatDrifted() {
+    when(bookings.findBookedSlots(any(), any())).thenReturn(List.of());
+    var index = new OccupancyIndex(bookings, 14, 1000);
+    index.warm();
+    assertEquals(0, index.verify());
+
+    // a booking written by another instance, never seen by this one
+    when(bookings.findBookedSlots(any(), any())).thenReturn(List.of(new BookedSlot(3L, today, "10:00-11:00")));
+    assertEquals(1, index.verify());
+    assertFalse(index.isFree(3L, today, SlotGrid.mask("10:00-11:00")));
+  }
+}
@@ -0,0 +1,286 @@
+package com.example.turf.booking.outbox;
+
+import com.example.turf.booking.BookingCancellation;
+import com.example.turf.booking.BookingConflictException;
+import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.ConfirmationLookup;
+import com.example.turf.booking.archive.ArchivedBookingRepository;
+import com.example.turf.booking.dto.BookingRequest;
+import com.example.turf.support.BookingWiring;
+import com.example.turf.support.CommittingJpaSliceTest;
+import com.example.turf.support.MutableClock;
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.user.Role;
+import com.example.turf.user.User;
+import com.example.turf.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@CommittingJpaSliceTest
+public class OutboxDispatcherTest {
+
+  private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+  @Autowired private BookingRepository bookings;
+  @Autowired private ArchivedBookingRepository archived;
+  @Autowired private TurfRepository turfs;
+  @Autowired private UserRepository users;
+  @Autowired private OutboxEntryRepository entries;
+  @Autowired private TransactionTemplate tx;
+  @Autowired private BookingWiring wiring;
+  @Autowired private JdbcTemplate jdbc;
+
+  private final List<Object> published = Collections.synchronizedList(new ArrayList<>());
+  private final LocalEventSink sink = new LocalEventSink(published::add, 100);
+  // real time in whole millis, one ahead: the database keeps micros, rounded, so a finer
+  // instant could sort just before a stored one
+  private final MutableClock clock = new MutableClock(Clock.offset(Clock.tickMillis(ZoneOffset.UTC), Duration.ofMillis(1)));
+  private OutboxDispatcher dispatcher;
+  private Long turfId;
+  private Long userId;
+
+  @BeforeEach
+  public void seed() {
+    turfId = turfs.save(Turf.builder().name("Outbox Turf").area("East End").sportType("Futsal").build()).getId();
+    userId = users.save(User.builder().fullName("Outbox").email("outbox@example.com").passwordHash("x")
+        .roles(Set.of(Role.USER)).createdAt(Instant.now()).build()).getId();
+  }
+
+  @AfterEach
+  public void cleanUp() throws Exception {
+    if (dispatcher != null) dispatcher.destroy();
+    jdbc.update("delete from booking_outbox");
+    bookings.deleteAll();
+    users.deleteAll();
+    turfs.deleteAll();
+  }
+
+  @Test
+  public void eventsAreWrittenWithTheBookingAndDrainedToEveryHandler() throws Exception {
+    var other = new Recording("analytics");
+    var handlers = List.<BookingEventHandler>of(sink, other);
+    var service = wiring.service(handlers);
+    dispatcher = dispatcher(handlers, 100, 2, 3);
+
+    var booked = service.book(turfId, userId, new BookingRequest(DATE, "18:00-20:00"));
+    assertThrows(BookingConflictException.class, () -> service.book(turfId, userId, new BookingRequest(DATE, "18:00-20:00")));
+    assertEquals(2, entries.count()); // one per handler; the rejected booking rolled back with its events
+
+    drain();
+    assertEquals(0, entries.count());
+    var event = sink.recent().get(0);
+    assertEquals(new BookingEvent(BookingEventType.BOOKED, booked.bookingId(), turfId, userId, DATE, "18:00-20:00",
+        booked.confirmationCode(), event.occurredAt()), event);
+    assertEquals(List.of(event), published);
+    assertEquals(List.of(event), other.events);
+
+    var cancellation = new BookingCancellation(bookings, wiring.occupancy(),
+        new ConfirmationLookup(bookings, archived, 10), tx, wiring.outbox(handlers));
+    cancellation.cancel(booked.bookingId(), userId, false);
+    drain();
+    assertEquals(BookingEventType.CANCELLED, sink.recent().get(1).type());
+    assertEquals(2, sink.received());
+    assertEquals(0, entries.count());
+  }
+
+  @Test
+  public void aFailingHandlerBacksOffAndParksWithoutHoldingUpTheOthers() throws Exception {
+    var failing = new Recording("sms");
+    failing.failures.set(Integer.MAX_VALUE);
+    var handlers = List.<BookingEventHandler>of(sink, failing);
+    wiring.service(handlers).book(turfId, userId, new BookingRequest(DATE, "06:00-08:00"));
+    dispatcher = dispatcher(handlers, 100, 2, 3);
+
+    drain();
+    assertEquals(1, sink.received());
+    assertEquals(1, failing.calls.get());
+    assertEquals(1, entries.count());
+
+    drain(); // backing off for 1s
+    assertEquals(1, failing.calls.get());
+    clock.advance(Duration.ofSeconds(1));
+    drain();
+    assertEquals(2, failing.calls.get());
+    clock.advance(Duration.ofSeconds(1)); // second backoff is 2s
+    drain();
+    assertEquals(2, failing.calls.get());
+    clock.advance(Duration.ofSeconds(1));
+    drain();
+    assertEquals(3, failing.calls.get());
+
+    clock.advance(Duration.ofHours(1));
+    drain();
+    assertEquals(3, failing.calls.get()); // parked after max-attempts
+    var parked = entries.findAll().get(0);
+    assertNull(parked.getAvailableAt());
+    assertEquals(3, parked.getAttempts());
+    assertTrue(parked.getLastError().contains("sms is down"));
+    var stats = dispatcher.stats().get(1);
+    assertEquals(new OutboxDispatcher.Stats("sms", 0, 3, 0, 3, 1), stats);
+    assertEquals(Duration.ZERO, dispatcher.lag()); // parked entries no longer count as pending
+  }
+
+  @Test
+  public void aBusyHandlerOnlyHoldsMaxInFlightBatchesAndTheRestWaitInTheTable() throws Exception {
+    var release = new CountDownLatch(1);
+    var slow = new Recording("email") {
+      @Override public void handle(List<BookingEvent> events) throws Exception {
+        release.await(10, TimeUnit.SECONDS);
+        super.handle(events);
+      }
+    };
+    var handlers = List.<BookingEventHandler>of(slow);
+    var service = wiring.service(handlers);
+    for (int h = 6; h < 16; h++) service.book(turfId, userId, new BookingRequest(DATE, "%02d:00-%02d:00".formatted(h, h + 1)));
+    dispatcher = dispatcher(handlers, 2, 1, 3);
+
+    assertEquals(1, dispatcher.poll());
+    assertEquals(0, dispatcher.poll());
+    assertEquals(1, dispatcher.stats().get(0).inFlight());
+    assertEquals(8, jdbc.queryForObject("select count(*) from booking_outbox where attempts = 0", Integer.class));
+    assertTrue(dispatcher.lag().compareTo(Duration.ZERO) > 0);
+
+    release.countDown();
+    drain(); // each full batch pulls the next one in without waiting for a poll
+    assertEquals(10, slow.events.size());
+    assertEquals(0, entries.count());
+    assertEquals(5, dispatcher.stats().get(0).batches());
+  }
+
+  @Test
+  public void anUnfinishedBatchIsDeliveredAgainOnceItsLeaseRunsOut() throws Exception {
+    var stuck = new CountDownLatch(1);
+    var first = new AtomicInteger();
+    var flaky = new Recording("crm") {
+      @Override public void handle(List<BookingEvent> events) throws Exception {
+        if (first.getAndIncrement() == 0) stuck.await(10, TimeUnit.SECONDS);
+        super.handle(events);
+      }
+    };
+    var handlers = List.<BookingEventHandler>of(flaky);
+    wiring.service(handlers).book(turfId, userId, new BookingRequest(DATE, "20:00-22:00"));
+    dispatcher = dispatcher(handlers, 100, 2, 3);
+
+    assertEquals(1, dispatcher.poll());
+    assertEquals(0, dispatcher.poll());
+    clock.advance(Duration.ofMinutes(1));
+    assertEquals(1, dispatcher.poll());
+    stuck.countDown();
+    assertTrue(dispatcher.awaitIdle(Duration.ofSeconds(10)));
+    assertEquals(2, flaky.events.size()); // at least once: both deliveries went through
+    assertEquals(0, entries.count());
+  }
+
+  @Test
+  public void aClaimThatFailsGivesItsInFlightSlotBack() throws Exception {
+    var handlers = List.<BookingEventHandler>of(sink);
+    wiring.service(handlers).book(turfId, userId, new BookingRequest(DATE, "12:00-14:00"));
+    var flaky = spy(jdbc);
+    doThrow(new DataAccessResourceFailureException("database down")).doCallRealMethod()
+        .when(flaky).query(anyString(), ArgumentMatchers.<RowMapper<Object>>any(), any(), any());
+    dispatcher = new OutboxDispatcher(flaky, handlers, 100, 1, 3, Duration.ofMinutes(1), Duration.ofSeconds(1),
+        Duration.ofMinutes(5), clock);
+
+    assertThrows(DataAccessResourceFailureException.class, dispatcher::poll);
+    assertEquals(0, dispatcher.stats().get(0).inFlight());
+    drain();
+    assertEquals(1, sink.received());
+  }
+
+  @Test
+  public void lagFollowsTheOldestPendingEventNotTheLowestId() {
+    var now = clock.instant();
+    for (var createdAt : List.of(now, now.minus(Duration.ofHours(1)))) {
+      // no lane for "archive", so both stay pending; the older one gets the higher id
+      entries.save(OutboxEntry.builder().handler("archive").type(BookingEventType.BOOKED).bookingId(1L).turfId(turfId)
+          .bookingDate(DATE).bookingTime("06:00-08:00").createdAt(createdAt).availableAt(now).build());
+    }
+    dispatcher = dispatcher(List.of(sink), 100, 2, 3);
+
+    dispatcher.poll();
+    assertTrue(dispatcher.lag().compareTo(Duration.ofMinutes(59)) > 0, () -> "lag " + dispatcher.lag());
+  }
+
+  @Test
+  public void anEventStampedAheadOfThisClockIsNoLag() {
+    var ahead = clock.instant().plus(Duration.ofHours(1)); // another instance's clock runs fast
+    entries.save(OutboxEntry.builder().handler("archive").type(BookingEventType.BOOKED).bookingId(1L).turfId(turfId)
+        .bookingDate(DATE).bookingTime("06:00-08:00").createdAt(ahead).availableAt(ahead).build());
+    dispatcher = dispatcher(List.of(sink), 100, 2, 3);
+
+    dispatcher.poll();
+    assertEquals(Duration.ZERO, dispatcher.lag());
+  }
+
+  @Test
+  public void noHandlersMeansNoEvents() {
+    wiring.service(List.of()).book(turfId, userId, new BookingRequest(DATE, "10:00-12:00"));
+    assertEquals(0, entries.count());
+  }
+
+  @Test
+  public void backoffDoublesUpToTheCap() {
+    var d = new OutboxDispatcher(jdbc, List.of(), 10, 1, 100, Duration.ofMinutes(1), Duration.ofSeconds(1),
+        Duration.ofMinutes(5), clock);
+    assertEquals(Duration.ofSeconds(1), d.backoff(1));
+    assertEquals(Duration.ofSeconds(8), d.backoff(4));
+    assertEquals(Duration.ofMinutes(5), d.backoff(10));
+    assertEquals(Duration.ofMinutes(5), d.backoff(99));
+  }
+
+  private OutboxDispatcher dispatcher(List<BookingEventHandler> handlers, int batchSize, int maxInFlight, int maxAttempts) {
+    return new OutboxDispatcher(jdbc, handlers, batchSize, maxInFlight, maxAttempts, Duration.ofMinutes(1),
+        Duration.ofSeconds(1), Duration.ofMinutes(5), clock);
+  }
+
+  private void drain() throws InterruptedException {
+    dispatcher.poll();
+    assertTrue(dispatcher.awaitIdle(Duration.ofSeconds(10)));
+  }
+
+  private static class Recording implements BookingEventHandler {
+    final String name;
+    final List<BookingEvent> events = Collections.synchronizedList(new ArrayList<>());
+    final AtomicInteger calls = new AtomicInteger();
+    final AtomicInteger failures = new AtomicInteger();
+
+    Recording(String name) {
+      this.name = name;
+    }
+
+    @Override public String name() {
+      return name;
+    }
+
+    @Override public void handle(List<BookingEvent> batch) throws Exception {
+      calls.incrementAndGet();
+      if (failures.getAndDecrement() > 0) throw new IllegalStateException(name + " is down");
+      events.addAll(batch);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.turf.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+  @Test
+  public void loadsOnceAndCountsHitsAndMisses() {
+    var cache = new BoundedCache<String, List<Integer>>(10, List::size);
+    var loads = new AtomicInteger();
+
+    cache.get("a", k -> { loads.incrementAndGet(); return List.of(1, 2); });
+    cache.get("a", k -> { loads.incrementAndGet(); return List.of(1, 2); });
+
+    assertEquals(1, loads.get());
+    assertEquals(new CacheStats(1, 1, 0, 1, 2), cache.stats());
+  }
+
+  @Test
+  public void aPutReadBeforeAnInvalidationIsDropped() {
+    var cache = new BoundedCache<String, List<Integer>>(10, List::size);
+    long gen = cache.generation();
+    cache.invalidate("a");
+    cache.put("a", List.of(1), gen);
+    assertNull(cache.getIfPresent("a"));
+
+    cache.put("a", List.of(1), cache.generation());
+    assertEquals(List.of(1), cache.getIfPresent("a"));
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedByWeight() {
+    var cache = new BoundedCache<String, List<Integer>>(5, List::size);
+    cache.put("a", List.of(1, 2));
+    cache.put("b", List.of(1, 2));
+    cache.getIfPresent("a");
+    cache.put("c", List.of(1, 2));
+
+    assertNotNull(cache.getIfPresent("a"));
+    assertNull(cache.getIfPresent("b"));
+    assertEquals(4, cache.stats().weight());
+    assertEquals(1, cache.stats().evictions());
+  }
+
+  @Test
+  public void valuesOverBudgetOrRacingAnInvalidationAreNotCached() {
+    var cache = new BoundedCache<String, List<Integer>>(2, List::size);
+    cache.get("big", k -> List.of(1, 2, 3));
+    assertNull(cache.getIfPresent("big"));
+
+    cache.get("stale", k -> { cache.invalidateAll(); return List.of(1); });
+    assertNull(cache.getIfPresent("stale"));
+  }
+}
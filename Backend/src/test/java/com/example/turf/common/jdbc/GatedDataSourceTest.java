@@ -0,0 +1,47 @@
+package com.example.turf.common.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class GatedDataSourceTest {
+
+  private final DataSource pool = mock(DataSource.class, withSettings().stubOnly());
+
+  @Test
+  public void permitsAreHeldUntilTheConnectionIsClosedOnce() throws Exception {
+    when(pool.getConnection()).thenAnswer(i -> mock(Connection.class, withSettings().stubOnly()));
+    var gated = new GatedDataSource(pool, 2, Duration.ofMillis(50));
+
+    var a = gated.getConnection();
+    var b = gated.getConnection();
+    assertThrows(SQLTransientConnectionException.class, gated::getConnection);
+    assertEquals(1, gated.stats().timeouts());
+
+    a.close();
+    a.close();
+    assertEquals(1, gated.stats().available());
+    var c = gated.getConnection();
+    assertThrows(SQLTransientConnectionException.class, gated::getConnection);
+    b.close();
+    c.close();
+    assertEquals(2, gated.stats().available());
+  }
+
+  @Test
+  public void aFailedBorrowGivesItsPermitBack() throws Exception {
+    when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool down"));
+    var gated = new GatedDataSource(pool, 1, Duration.ofMillis(50));
+
+    assertThrows(SQLTransientConnectionException.class, gated::getConnection);
+    assertThrows(SQLTransientConnectionException.class, gated::getConnection);
+    assertEquals(1, gated.stats().available());
+    assertEquals(0, gated.stats().timeouts());
+  }
+}
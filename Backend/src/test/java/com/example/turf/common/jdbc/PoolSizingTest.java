@@ -0,0 +1,50 @@
+package com.example.turf.common.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PoolSizingTest {
+
+  @Test
+  public void sizeFollowsLittlesLawWithinBounds() {
+    var sizing = new PoolSizing(200, 4, 1.5, 4, 40, 20);
+    // 200 tx/s x 4 round trips x 1.5 headroom = 1200 connection-round-trips per second
+    assertEquals(4, sizing.size(Duration.ofNanos(300_000)));   // next to the database: floor
+    assertEquals(6, sizing.size(Duration.ofMillis(5)));        // same region
+    assertEquals(24, sizing.size(Duration.ofMillis(20)));      // another region
+    assertEquals(40, sizing.size(Duration.ofMillis(80)));      // capped
+    assertThrows(IllegalArgumentException.class, () -> new PoolSizing(200, 4, 1.5, 10, 5, 20));
+  }
+
+  @Test
+  public void sizesThePoolBeforeItStartsAndLeavesRunningPoolsAlone() {
+    var sizing = new PoolSizing(200, 4, 1.5, 3, 40, 5);
+    try (var pool = new HikariDataSource()) {
+      pool.setJdbcUrl("jdbc:h2:mem:pool-sizing");
+      pool.setMaximumPoolSize(10);
+      sizing.postProcessAfterInitialization(pool, "dataSource");
+
+      assertEquals(3, pool.getMaximumPoolSize());
+      assertEquals(10, sizing.result().orElseThrow().configured());
+      assertTrue(pool.getMinimumIdle() <= 3);
+    }
+  }
+
+  @Test
+  public void driverSettingsMergeUrlParametersAndDataSourceProperties() {
+    try (var pool = new HikariDataSource()) {
+      pool.setJdbcUrl("jdbc:postgresql://db:5432/turf?sslmode=require&prepareThreshold=5");
+      pool.addDataSourceProperty("reWriteBatchedInserts", "true");
+      pool.addDataSourceProperty("preparethreshold", "3");
+
+      var settings = DataSourceReport.driverSettings(pool);
+      assertEquals("true", settings.get("reWriteBatchedInserts"));
+      assertEquals("3", settings.get("prepareThreshold"));
+      assertEquals("require", settings.get("sslmode"));
+    }
+  }
+}
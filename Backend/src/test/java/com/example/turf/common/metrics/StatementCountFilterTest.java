@@ -0,0 +1,53 @@
+package com.example.turf.common.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementCountFilterTest {
+
+  private final StatementCounter counter = new StatementCounter();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final StatementCountFilter filter = new StatementCountFilter(counter, registry);
+
+  @Test
+  public void recordsStatementsPerRouteTemplate() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/api/turfs/7");
+    filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+      req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/turfs/{id}");
+      counter.inspect("select 1");
+      counter.inspect("select 2");
+      counter.inspect("select 3");
+    });
+
+    var summary = registry.get("http.server.requests.statements")
+        .tags("method", "GET", "uri", "/api/turfs/{id}").summary();
+    assertEquals(1, summary.count());
+    assertEquals(3, summary.totalAmount());
+  }
+
+  @Test
+  public void unmatchedRequestsShareOneTag() throws Exception {
+    filter.doFilter(new MockHttpServletRequest("GET", "/nope/1"), new MockHttpServletResponse(), (req, res) -> {});
+    filter.doFilter(new MockHttpServletRequest("GET", "/nope/2"), new MockHttpServletResponse(), (req, res) -> {});
+
+    assertEquals(2, registry.get("http.server.requests.statements").tag("uri", "UNKNOWN").summary().count());
+  }
+
+  @Test
+  public void failedRequestsAreRecordedAndLeaveNoCountBehind() {
+    assertThrows(IllegalStateException.class, () ->
+        filter.doFilter(new MockHttpServletRequest("POST", "/x"), new MockHttpServletResponse(), (req, res) -> {
+          counter.inspect("insert 1");
+          throw new IllegalStateException("boom");
+        }));
+
+    assertEquals(1, registry.get("http.server.requests.statements").tag("method", "POST").summary().totalAmount());
+    counter.inspect("select 1");
+    assertEquals(0, counter.stop());
+  }
+}
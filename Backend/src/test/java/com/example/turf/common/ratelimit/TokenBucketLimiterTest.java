@@ -0,0 +1,70 @@
+package com.example.turf.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketLimiterTest {
+
+  private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+  @Test
+  public void allowsABurstThenRefillsOneTokenPerPeriod() {
+    var limiter = new TokenBucketLimiter("t", 3, Duration.ofSeconds(1), 100, now::get);
+
+    for (int i = 0; i < 3; i++) assertEquals(0, limiter.tryAcquire("ip"));
+    assertEquals(Duration.ofSeconds(1).toNanos(), limiter.tryAcquire("ip"));
+    assertEquals(0, limiter.tryAcquire("other"));
+
+    now.addAndGet(Duration.ofMillis(1500).toNanos());
+    assertEquals(0, limiter.tryAcquire("ip"));
+    assertEquals(Duration.ofMillis(500).toNanos(), limiter.tryAcquire("ip"));
+
+    now.addAndGet(Duration.ofMinutes(1).toNanos());
+    for (int i = 0; i < 3; i++) assertEquals(0, limiter.tryAcquire("ip"));
+    var ex = assertThrows(RateLimitedException.class, () -> limiter.check("ip"));
+    assertEquals(Duration.ofSeconds(1), ex.getRetryAfter());
+
+    var stats = limiter.stats();
+    assertEquals(8, stats.allowed());
+    assertEquals(3, stats.rejected());
+  }
+
+  @Test
+  public void idleKeysAreEvictedBeyondTheBound() {
+    var limiter = new TokenBucketLimiter("t", 1, Duration.ofSeconds(1), 64 * 2, now::get);
+    for (int i = 0; i < 10_000; i++) limiter.tryAcquire("key-" + i);
+
+    assertTrue(limiter.stats().keys() <= 64 * 2);
+    assertEquals(10_000 - limiter.stats().keys(), limiter.stats().evictions());
+  }
+
+  @Test
+  public void concurrentChecksNeverOverAdmit() throws Exception {
+    var limiter = new TokenBucketLimiter("t", 100, Duration.ofHours(1), 100, now::get);
+    var admitted = new AtomicInteger();
+    var start = new CountDownLatch(1);
+    var pool = Executors.newFixedThreadPool(16);
+    var futures = new ArrayList<Future<?>>();
+    for (int t = 0; t < 16; t++) {
+      futures.add(pool.submit(() -> {
+        start.await();
+        for (int i = 0; i < 1000; i++) if (limiter.tryAcquire("hot") == 0) admitted.incrementAndGet();
+        return null;
+      }));
+    }
+    start.countDown();
+    for (var f : futures) f.get();
+    pool.shutdown();
+
+    assertEquals(100, admitted.get());
+  }
+}
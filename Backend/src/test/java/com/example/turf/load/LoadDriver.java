@@ -0,0 +1,159 @@
+package com.example.turf.load;
+
+import org.hibernate.stat.Statistics;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Closed-loop load generator: each client thread sends a request, waits for the
+ * response and sends the next, for a fixed duration. Latency is measured per request
+ * on the client side; statements are read from Hibernate's statistics before and
+ * after, so scenarios must run one at a time.
+ */
+class LoadDriver {
+  /** Builds the next request for a client; the random is the calling thread's. */
+  interface Scenario extends Function<ThreadLocalRandom, HttpRequest> {}
+
+  private final String baseUrl;
+  private final Statistics statistics;
+  private final HttpClient http = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+
+  LoadDriver(String baseUrl, Statistics statistics) {
+    this.baseUrl = baseUrl;
+    this.statistics = statistics;
+  }
+
+  HttpRequest.Builder request(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+  }
+
+  /** Sends one request outside any measurement and returns its body, failing on a non-2xx status. */
+  String send(HttpRequest request) throws Exception {
+    var response = http.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() / 100 != 2) {
+      throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+    }
+    return response.body();
+  }
+
+  Result run(String name, int clients, Duration duration, Scenario scenario) throws InterruptedException {
+    var samples = new long[clients][];
+    var counts = new int[clients];
+    var statuses = new TreeMap<Integer, AtomicLong>();
+    var failures = new AtomicLong();
+    long statementsBefore = statistics.getPrepareStatementCount();
+    long start = System.nanoTime();
+    long deadline = start + duration.toNanos();
+
+    var threads = new ArrayList<Thread>();
+    for (int c = 0; c < clients; c++) {
+      int client = c;
+      samples[c] = new long[1024];
+      var thread = new Thread(() -> {
+        var random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+          var request = scenario.apply(random);
+          long sent = System.nanoTime();
+          try {
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            synchronized (statuses) {
+              statuses.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+            }
+          } catch (Exception e) {
+            failures.incrementAndGet();
+          }
+          if (counts[client] == samples[client].length) samples[client] = Arrays.copyOf(samples[client], counts[client] * 2);
+          samples[client][counts[client]++] = System.nanoTime() - sent;
+        }
+      }, "load-" + name + "-" + c);
+      threads.add(thread);
+      thread.start();
+    }
+    for (var thread : threads) thread.join();
+    long elapsed = System.nanoTime() - start;
+
+    int total = Arrays.stream(counts).sum();
+    var latencies = new long[total];
+    int at = 0;
+    for (int c = 0; c < clients; c++) {
+      System.arraycopy(samples[c], 0, latencies, at, counts[c]);
+      at += counts[c];
+    }
+    Arrays.sort(latencies);
+    var byStatus = new TreeMap<Integer, Long>();
+    statuses.forEach((status, n) -> byStatus.put(status, n.get()));
+    return new Result(name, clients, Duration.ofNanos(elapsed), latencies, byStatus, failures.get(),
+        statistics.getPrepareStatementCount() - statementsBefore);
+  }
+
+  record Result(String name, int clients, Duration elapsed, long[] latencies, Map<Integer, Long> statuses,
+                long failures, long statements) {
+
+    long requests() {
+      return latencies.length;
+    }
+
+    double throughput() {
+      return requests() / (elapsed.toNanos() / 1e9);
+    }
+
+    double percentileMillis(double p) {
+      if (latencies.length == 0) return 0;
+      int i = (int) Math.min(latencies.length - 1, Math.ceil(p / 100 * latencies.length) - 1);
+      return latencies[Math.max(0, i)] / 1e6;
+    }
+
+    /** 409s: the slot was taken, an expected outcome under contention. */
+    double conflictRate() {
+      return rate(statuses.getOrDefault(409, 0L));
+    }
+
+    /** 5xx responses, timeouts and connection failures. */
+    double errorRate() {
+      long errors = failures + statuses.entrySet().stream().filter(e -> e.getKey() >= 500).mapToLong(Map.Entry::getValue).sum();
+      return rate(errors);
+    }
+
+    double statementsPerRequest() {
+      return requests() == 0 ? 0 : (double) statements / requests();
+    }
+
+    private double rate(long n) {
+      return requests() == 0 ? 0 : 100.0 * n / requests();
+    }
+
+    static String header() {
+      return String.format(Locale.ROOT, "%-13s %7s %8s %8s %8s %8s %8s %8s %7s %7s %8s  %s",
+          "scenario", "clients", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms",
+          "err %", "409 %", "stmt/req", "statuses");
+    }
+
+    String row() {
+      return String.format(Locale.ROOT, "%-13s %7d %8d %8.1f %8.2f %8.2f %8.2f %8.2f %7.2f %7.2f %8.2f  %s",
+          name, clients, requests(), throughput(), percentileMillis(50), percentileMillis(90),
+          percentileMillis(99), percentileMillis(100), errorRate(), conflictRate(), statementsPerRequest(),
+          statuses + (failures > 0 ? " failed=" + failures : ""));
+    }
+  }
+
+  static List<String> report(List<Result> results) {
+    var lines = new ArrayList<String>();
+    lines.add(Result.header());
+    results.forEach(r -> lines.add(r.row()));
+    return lines;
+  }
+}
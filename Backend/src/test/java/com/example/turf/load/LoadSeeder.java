@@ -0,0 +1,126 @@
+package com.example.turf.load;
+
+import com.example.turf.booking.ConfirmationCode;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.common.schema.IdSequenceAligner;
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfCatalog;
+import com.example.turf.turf.TurfChangedEvent;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.user.Role;
+import com.example.turf.user.User;
+import com.example.turf.user.UserRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Seeds turfs and users through the repositories and historical bookings through
+ * batched JDBC, then brings id sequences, the occupancy index and the turf catalog
+ * back in line with the table contents. Deterministic for a given scale.
+ */
+class LoadSeeder {
+  static final String PASSWORD = "load-test-password";
+  static final String[] SPORTS = {"Football", "Cricket", "Futsal", "Basketball", "Volleyball", "Tennis", "Badminton"};
+  static final String[] SLOTS = {"06:00-08:00", "08:00-10:00", "10:00-12:00", "12:00-14:00", "14:00-16:00",
+      "16:00-18:00", "18:00-20:00", "20:00-22:00", "22:00-24:00"};
+  /** Bookings span this many days back and ahead of today; three quarters are in the past. */
+  static final int PAST_DAYS = 90;
+  static final int AHEAD_DAYS = 30;
+
+  record Scale(int turfs, int users, int bookings) {}
+
+  record Seeded(List<Long> turfIds, List<Long> userIds, List<String> emails, int bookings) {}
+
+  private final TurfRepository turfs;
+  private final UserRepository users;
+  private final PasswordEncoder encoder;
+  private final JdbcTemplate jdbc;
+  private final IdSequenceAligner sequences;
+  private final OccupancyIndex occupancy;
+  private final TurfCatalog catalog;
+
+  LoadSeeder(TurfRepository turfs, UserRepository users, PasswordEncoder encoder, JdbcTemplate jdbc,
+             IdSequenceAligner sequences, OccupancyIndex occupancy, TurfCatalog catalog) {
+    this.turfs = turfs;
+    this.users = users;
+    this.encoder = encoder;
+    this.jdbc = jdbc;
+    this.sequences = sequences;
+    this.occupancy = occupancy;
+    this.catalog = catalog;
+  }
+
+  Seeded seed(Scale scale) {
+    var random = new Random(42);
+    var turfIds = turfs.saveAll(IntStream.range(0, scale.turfs()).mapToObj(i -> Turf.builder()
+            .name("Load Turf " + i).area("Area " + i % 20).sportType(SPORTS[i % SPORTS.length])
+            .pricePerSlot(1500 + random.nextInt(20) * 100).build()).toList())
+        .stream().map(Turf::getId).toList();
+
+    // one hash for everyone: logins still pay a full BCrypt check, seeding doesn't pay thousands
+    var hash = encoder.encode(PASSWORD);
+    var emails = IntStream.range(0, scale.users()).mapToObj(i -> "load-user-" + i + "@example.com").toList();
+    var userIds = new ArrayList<Long>();
+    for (int from = 0; from < emails.size(); from += 1000) {
+      var chunk = emails.subList(from, Math.min(emails.size(), from + 1000)).stream().map(email -> User.builder()
+          .fullName("Load User").email(email).passwordHash(hash).roles(Set.of(Role.USER))
+          .createdAt(Instant.now()).build()).toList();
+      users.saveAll(chunk).forEach(u -> userIds.add(u.getId()));
+    }
+
+    int bookings = seedBookings(scale.bookings(), turfIds, userIds, random);
+    sequences.afterPropertiesSet();
+    occupancy.verify();
+    catalog.onTurfChanged(new TurfChangedEvent(0L));
+    return new Seeded(turfIds, userIds, emails, bookings);
+  }
+
+  private int seedBookings(int count, List<Long> turfIds, List<Long> userIds, Random random) {
+    var today = LocalDate.now();
+    long firstId = 1 + jdbc.queryForObject("select coalesce(max(id), 0) from bookings", Long.class);
+    var taken = new HashSet<String>();
+    var rows = new ArrayList<Object[]>();
+    int inserted = 0;
+    // bounded: a scale with more bookings than slots stops at a full calendar
+    for (int attempt = 0; inserted + rows.size() < count && attempt < count * 4; attempt++) {
+      boolean past = random.nextInt(4) != 0;
+      var date = past ? today.minusDays(1 + random.nextInt(PAST_DAYS)) : today.plusDays(random.nextInt(AHEAD_DAYS));
+      long turfId = turfIds.get(random.nextInt(turfIds.size()));
+      int slot = random.nextInt(SLOTS.length);
+      boolean cancelled = random.nextInt(10) == 0;
+      if (!cancelled && !taken.add(turfId + "|" + date + "|" + slot)) continue;
+
+      long id = firstId + inserted + rows.size();
+      var createdAt = date.minusDays(random.nextInt(14)).atTime(8 + random.nextInt(12), random.nextInt(60))
+          .toInstant(ZoneOffset.UTC);
+      // time-ordered like a real code; the low bits are the id so seeded codes never collide
+      long ref = ConfirmationCode.next(createdAt).value() & ~0xffffffffL | (id & 0xffffffffL);
+      rows.add(new Object[] {id, turfId, userIds.get(random.nextInt(userIds.size())), Date.valueOf(date),
+          SLOTS[slot], 360 + slot * 120, 480 + slot * 120, cancelled ? "CANCELLED" : "BOOKED", ref,
+          Timestamp.from(createdAt), cancelled ? null : Boolean.TRUE});
+      if (rows.size() == 1000) inserted += flush(rows);
+    }
+    return inserted + flush(rows);
+  }
+
+  private int flush(List<Object[]> rows) {
+    if (rows.isEmpty()) return 0;
+    jdbc.batchUpdate("insert into bookings (id, turf_id, user_id, booking_date, booking_time, slot_start, slot_end, "
+        + "status, confirmation_ref, created_at, live) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    int n = rows.size();
+    rows.clear();
+    return n;
+  }
+}
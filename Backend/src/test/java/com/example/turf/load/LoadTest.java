@@ -0,0 +1,134 @@
+package com.example.turf.load;
+
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.common.schema.IdSequenceAligner;
+import com.example.turf.turf.TurfCatalog;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test: the whole app on a random port against H2 in Postgres mode,
+ * seeded at scale, driven over HTTP by concurrent clients. Reports throughput,
+ * latency percentiles, error and conflict rates and Hibernate statements per request
+ * for each scenario. Run with {@code mvn test -Pload}; scale it with system properties,
+ * e.g. {@code -Dload.users=20000 -Dload.bookings=500000 -Dload.clients=64 -Dload.duration=PT60S}.
+ * Rate limits are lifted, since every client shares one address.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:load;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.format_sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+    "app.ratelimit.auth-ip.capacity=1000000000",
+    "app.ratelimit.login-email.capacity=1000000000",
+    "app.ratelimit.booking-ip.capacity=1000000000"
+})
+public class LoadTest {
+  private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+  private static final int TURFS = Integer.getInteger("load.turfs", 200);
+  private static final int USERS = Integer.getInteger("load.users", 2_000);
+  private static final int BOOKINGS = Integer.getInteger("load.bookings", 50_000);
+  private static final int CLIENTS = Integer.getInteger("load.clients", 16);
+  private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT10S"));
+  private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+
+  @LocalServerPort int port;
+  @Autowired TurfRepository turfs;
+  @Autowired UserRepository users;
+  @Autowired PasswordEncoder encoder;
+  @Autowired JdbcTemplate jdbc;
+  @Autowired IdSequenceAligner sequences;
+  @Autowired OccupancyIndex occupancy;
+  @Autowired TurfCatalog catalog;
+  @Autowired EntityManagerFactory emf;
+
+  @Test
+  public void mixedTrafficAgainstASeededDatabase() throws Exception {
+    long start = System.nanoTime();
+    var seeded = new LoadSeeder(turfs, users, encoder, jdbc, sequences, occupancy, catalog)
+        .seed(new LoadSeeder.Scale(TURFS, USERS, BOOKINGS));
+    System.out.printf("Seeded %d turfs, %d users, %d bookings in %d ms%n", seeded.turfIds().size(),
+        seeded.userIds().size(), seeded.bookings(), (System.nanoTime() - start) / 1_000_000);
+
+    var driver = new LoadDriver("http://localhost:" + port, emf.unwrap(SessionFactory.class).getStatistics());
+    Function<String, HttpRequest> login = email -> driver.request("/api/auth/login")
+        .header("Content-Type", "application/json")
+        .POST(json("{\"email\":\"" + email + "\",\"password\":\"" + LoadSeeder.PASSWORD + "\"}")).build();
+    // signed-in browsing: one session per client, logged in before the clock starts
+    var tokens = new ArrayList<String>();
+    for (int c = 0; c < CLIENTS; c++) {
+      var body = driver.send(login.apply(seeded.emails().get(c % seeded.emails().size())));
+      tokens.add(TOKEN.matcher(body).results().findFirst().orElseThrow().group(1));
+    }
+
+    LoadDriver.Scenario availability = random -> {
+      // mostly the in-memory hot window, sometimes further out where the database answers
+      int days = random.nextInt(10) < 8 ? random.nextInt(14) : 14 + random.nextInt(LoadSeeder.AHEAD_DAYS);
+      return driver.request("/api/turfs/available-turfs-by-date-and-type"
+          + "?bookingDate=" + LocalDate.now().plusDays(days)
+          + "&bookingTime=" + pick(random, LoadSeeder.SLOTS)
+          + "&turfType=" + pick(random, LoadSeeder.SPORTS))
+          .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size()))).GET().build();
+    };
+    LoadDriver.Scenario signIn = random -> login.apply(seeded.emails().get(random.nextInt(seeded.emails().size())));
+    LoadDriver.Scenario booking = random -> driver.request("/api/bookings/book-turf/"
+            + seeded.turfIds().get(random.nextInt(seeded.turfIds().size())) + "/"
+            + seeded.userIds().get(random.nextInt(seeded.userIds().size())))
+        .header("Content-Type", "application/json")
+        .POST(json("{\"bookingDate\":\"" + LocalDate.now().plusDays(random.nextInt(14))
+            + "\",\"timeslot\":\"" + pick(random, LoadSeeder.SLOTS) + "\"}")).build();
+    LoadDriver.Scenario mixed = random -> {
+      int roll = random.nextInt(100);
+      return (roll < 85 ? availability : roll < 95 ? booking : signIn).apply(random);
+    };
+
+    driver.run("warmup", CLIENTS, WARMUP, mixed);
+    var results = new ArrayList<LoadDriver.Result>();
+    results.add(driver.run("availability", CLIENTS, DURATION, availability));
+    results.add(driver.run("login", CLIENTS, DURATION, signIn));
+    results.add(driver.run("booking", CLIENTS, DURATION, booking));
+    results.add(driver.run("mixed", CLIENTS, DURATION, mixed));
+    LoadDriver.report(results).forEach(System.out::println);
+
+    for (var r : results) {
+      assertTrue(r.requests() > 0, r.name() + " sent no requests");
+      assertEquals(0, r.errorRate(), r.name() + " had server errors: " + r.statuses());
+      // anything else (401, 403, 429, 400) means the harness, not the app, is wrong
+      assertTrue(r.statuses().keySet().stream().allMatch(s -> s == 200 || s == 409), r.name() + ": " + r.statuses());
+    }
+  }
+
+  private static String pick(ThreadLocalRandom random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private static HttpRequest.BodyPublisher json(String body) {
+    return HttpRequest.BodyPublishers.ofString(body);
+  }
+}
@@ -0,0 +1,69 @@
+package com.example.turf.security;
+
+import com.example.turf.user.Role;
+import com.example.turf.user.User;
+import com.example.turf.user.UserChangedEvent;
+import com.example.turf.support.MutableClock;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AuthenticatedTokenCacheTest {
+
+  private final JwtService jwt = new JwtService("test-secret-test-secret-test-secret-test-secret", 3_600_000);
+  private final UserDetailsServiceImpl uds = mock(UserDetailsServiceImpl.class);
+  private final MutableClock clock = new MutableClock();
+  private final TokenDenylist denylist = new TokenDenylist(jwt, true, 3_600_000, clock);
+  private final AuthenticatedTokenCache tokens = new AuthenticatedTokenCache(jwt, uds, denylist, 100, Duration.ofMinutes(5), clock);
+
+  @Test
+  public void verifiesAndLoadsTheUserOncePerToken() {
+    when(uds.loadUserByUsername("a@x.io")).thenReturn(principal(1L, "a@x.io"));
+    String token = jwt.generate("a@x.io", Map.of());
+
+    for (int i = 0; i < 3; i++) assertEquals("a@x.io", tokens.authenticate(token).getUsername());
+
+    verify(uds, times(1)).loadUserByUsername("a@x.io");
+    assertEquals(2, tokens.stats().hits());
+    assertEquals(1, tokens.stats().misses());
+  }
+
+  @Test
+  public void rejectsBadTokensWithoutCachingThem() {
+    when(uds.loadUserByUsername("gone@x.io")).thenThrow(new UsernameNotFoundException("Not found"));
+
+    assertNull(tokens.authenticate("not-a-jwt"));
+    assertNull(tokens.authenticate(jwt.generate("gone@x.io", Map.of())));
+    assertEquals(0, tokens.stats().size());
+  }
+
+  @Test
+  public void entriesAgeOutAndAreDroppedWhenTheirUserChanges() {
+    when(uds.loadUserByUsername("a@x.io")).thenReturn(principal(1L, "a@x.io"));
+    when(uds.loadUserByUsername("b@x.io")).thenReturn(principal(2L, "b@x.io"));
+    String a = jwt.generate("a@x.io", Map.of());
+    String b = jwt.generate("b@x.io", Map.of());
+    tokens.authenticate(a);
+    tokens.authenticate(b);
+
+    tokens.onUserChanged(new UserChangedEvent(1L));
+    assertEquals(1, tokens.stats().size());
+    tokens.authenticate(a);
+    verify(uds, times(2)).loadUserByUsername("a@x.io");
+
+    clock.advance(Duration.ofMinutes(6));
+    tokens.authenticate(b);
+    verify(uds, times(2)).loadUserByUsername("b@x.io");
+    assertEquals(1, tokens.expiredHits());
+  }
+
+  private static UserPrincipal principal(Long id, String email) {
+    return new UserPrincipal(User.builder().id(id).email(email).roles(Set.of(Role.USER)).build());
+  }
+}
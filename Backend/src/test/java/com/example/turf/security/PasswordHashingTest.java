@@ -0,0 +1,72 @@
+package com.example.turf.security;
+
+import com.example.turf.auth.AuthService;
+import com.example.turf.auth.dto.AuthRequest;
+import com.example.turf.user.User;
+import com.example.turf.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PasswordHashingTest {
+
+  @Test
+  public void refusesWorkOnceThePoolAndQueueAreFull() throws Exception {
+    var hashing = new PasswordHashing(1, 1);
+    var release = new CountDownLatch(1);
+    try {
+      var running = hashing.submit(() -> await(release));
+      var queued = hashing.submit(() -> await(release));
+      assertThrows(HashingSaturatedException.class, () -> hashing.submit(() -> "x"));
+      assertEquals(1, hashing.stats().queued());
+      assertEquals(1, hashing.stats().rejected());
+
+      release.countDown();
+      assertEquals("done", running.get());
+      assertEquals("done", queued.get());
+    } finally {
+      hashing.destroy();
+    }
+  }
+
+  @Test
+  public void loginRehashesLegacyAndWeakerHashes() {
+    var encoder = new SecurityConfig(null, null).passwordEncoder(6);
+    var users = mock(UserRepository.class);
+    var jwt = mock(JwtService.class);
+    var service = new AuthService(users, encoder, jwt);
+    var legacy = User.builder().id(1L).email("a@x.io").roles(Set.of())
+        .passwordHash(new BCryptPasswordEncoder(4).encode("secret")).build();
+    when(users.findByEmail("a@x.io")).thenReturn(Optional.of(legacy));
+
+    service.login(login("a@x.io", "secret"));
+    verify(users).updatePasswordHash(eq(1L), argThat(h -> h.startsWith("{bcrypt}$2a$06$")));
+
+    legacy.setPasswordHash(encoder.encode("secret"));
+    service.login(login("a@x.io", "secret"));
+    verify(users, times(1)).updatePasswordHash(any(), any());
+  }
+
+  private static AuthRequest login(String email, String password) {
+    var req = new AuthRequest();
+    req.setEmail(email);
+    req.setPassword(password);
+    return req;
+  }
+
+  private static String await(CountDownLatch latch) {
+    try {
+      latch.await();
+      return "done";
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
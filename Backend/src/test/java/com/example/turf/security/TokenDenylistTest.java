@@ -0,0 +1,68 @@
+package com.example.turf.security;
+
+import com.example.turf.user.Role;
+import com.example.turf.support.MutableClock;
+import com.example.turf.user.UserChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenDenylistTest {
+
+  private final JwtService jwt = new JwtService("test-secret-test-secret-test-secret-test-secret", 3_600_000);
+
+  @Test
+  public void principalIsBuiltFromClaimsAlone() {
+    var claims = jwt.verify(jwt.generate("a@x.io", Map.of(JwtService.ROLES, Set.of(Role.ADMIN), JwtService.USER_ID, 7L))).orElseThrow();
+    var user = UserPrincipal.fromClaims(claims);
+
+    assertEquals(7L, user.user().getId());
+    assertEquals("a@x.io", user.getUsername());
+    assertEquals(List.of("ROLE_ADMIN"), user.getAuthorities().stream().map(Object::toString).toList());
+    assertNull(UserPrincipal.fromClaims(jwt.verify(jwt.generate("old@x.io", Map.of())).orElseThrow()));
+  }
+
+  @Test
+  public void logoutRevokesOneTokenUntilItExpires() {
+    var clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+    var denylist = new TokenDenylist(jwt, true, 3_600_000, clock);
+    String a = jwt.generate("a@x.io", Map.of(JwtService.USER_ID, 1L));
+    String b = jwt.generate("a@x.io", Map.of(JwtService.USER_ID, 1L));
+
+    assertTrue(denylist.revoke(a));
+    assertFalse(denylist.revoke("garbage"));
+    assertTrue(denylist.isRevoked(jwt.verify(a).orElseThrow()));
+    assertFalse(denylist.isRevoked(jwt.verify(b).orElseThrow()));
+
+    var later = new TokenDenylist(jwt, true, 3_600_000, Clock.offset(clock, Duration.ofHours(2)));
+    later.revoke(a);
+    later.prune();
+    assertEquals(0, later.size());
+  }
+
+  @Test
+  public void userChangeRevokesEverythingIssuedBefore() {
+    var clock = new MutableClock();
+    var jwt = new JwtService("test-secret-test-secret-test-secret-test-secret", 3_600_000, clock);
+    var denylist = new TokenDenylist(jwt, true, 3_600_000, clock);
+    var before = jwt.verify(jwt.generate("a@x.io", Map.of(JwtService.USER_ID, 1L))).orElseThrow();
+    var other = jwt.verify(jwt.generate("b@x.io", Map.of(JwtService.USER_ID, 2L))).orElseThrow();
+    clock.advance(Duration.ofSeconds(1)); // iat has second precision
+
+    denylist.onUserChanged(new UserChangedEvent(1L));
+    var after = jwt.verify(jwt.generate("a@x.io", Map.of(JwtService.USER_ID, 1L))).orElseThrow();
+
+    assertTrue(denylist.isRevoked(before));
+    assertFalse(denylist.isRevoked(other));
+    assertFalse(denylist.isRevoked(after));
+    assertFalse(new TokenDenylist(jwt, false, 3_600_000).isRevoked(before));
+  }
+}
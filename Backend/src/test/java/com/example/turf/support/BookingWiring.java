@@ -0,0 +1,65 @@
+package com.example.turf.support;
+
+import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.BookingService;
+import com.example.turf.booking.hold.SlotHoldService;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.occupancy.SlotAdmission;
+import com.example.turf.booking.outbox.BookingEventHandler;
+import com.example.turf.booking.outbox.BookingOutbox;
+import com.example.turf.booking.outbox.OutboxEntryRepository;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.user.UserRepository;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Builds the booking graph the way the app wires it, on the slice's repositories. Every call
+ * gets its own occupancy index, so two services stand in for two app instances.
+ */
+@TestComponent
+public class BookingWiring {
+
+  private final BookingRepository bookings;
+  private final TurfRepository turfs;
+  private final UserRepository users;
+  private final OutboxEntryRepository outboxEntries;
+  private final TransactionTemplate tx;
+
+  public BookingWiring(BookingRepository bookings, TurfRepository turfs, UserRepository users,
+                       OutboxEntryRepository outboxEntries, TransactionTemplate tx) {
+    this.bookings = bookings;
+    this.turfs = turfs;
+    this.users = users;
+    this.outboxEntries = outboxEntries;
+    this.tx = tx;
+  }
+
+  /** An index warmed from what is already in the table. */
+  public OccupancyIndex occupancy() {
+    var occupancy = new OccupancyIndex(bookings, 14, 1000);
+    occupancy.warm();
+    return occupancy;
+  }
+
+  public BookingOutbox outbox(List<BookingEventHandler> handlers) {
+    return new BookingOutbox(outboxEntries, handlers);
+  }
+
+  public BookingService service() {
+    return service(occupancy(), List.of());
+  }
+
+  public BookingService service(List<BookingEventHandler> handlers) {
+    return service(occupancy(), handlers);
+  }
+
+  public BookingService service(OccupancyIndex occupancy, List<BookingEventHandler> handlers) {
+    var admission = new SlotAdmission(occupancy);
+    var holds = new SlotHoldService(admission, occupancy, bookings, Duration.ofMinutes(5), 3, 10000);
+    return new BookingService(bookings, turfs, users, occupancy, admission, holds, tx, outbox(handlers));
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.turf.support;
+
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link JpaSliceTest} without the surrounding test transaction: every write commits, as it
+ * would from a controller, so the test cleans up after itself.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@JpaSliceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public @interface CommittingJpaSliceTest {
+}
@@ -0,0 +1,37 @@
+package com.example.turf.support;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/** A clock tests move by hand: fixed at creation, or following a base clock, plus whatever was advanced. */
+public final class MutableClock extends Clock {
+  private final Clock base;
+  private volatile Duration offset = Duration.ZERO;
+
+  public MutableClock() {
+    this(Clock.fixed(Instant.now(), ZoneOffset.UTC));
+  }
+
+  public MutableClock(Clock base) {
+    this.base = base;
+  }
+
+  public void advance(Duration by) {
+    offset = offset.plus(by);
+  }
+
+  @Override public ZoneId getZone() {
+    return base.getZone();
+  }
+
+  @Override public Clock withZone(ZoneId zone) {
+    return this;
+  }
+
+  @Override public Instant instant() {
+    return base.instant().plus(offset);
+  }
+}
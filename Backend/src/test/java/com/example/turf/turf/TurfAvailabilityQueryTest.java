@@ -0,0 +1,104 @@
+package com.example.turf.turf;
+
+import com.example.turf.booking.Booking;
+import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.BookingStatus;
+import com.example.turf.booking.TimeSlot;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.occupancy.SlotAdmission;
+import com.example.turf.support.JpaSliceTest;
+import com.example.turf.turf.dto.TurfDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JpaSliceTest
+public class TurfAvailabilityQueryTest {
+
+  private static final LocalDate DATE = LocalDate.of(2030, 1, 4);
+  private static final String SLOT = "18:00-20:00";
+
+  @Autowired private TurfRepository turfs;
+  @Autowired private BookingRepository bookings;
+  @Autowired private TestEntityManager em;
+  @Autowired private EntityManagerFactory emf;
+
+  private TurfService service;
+  private Statistics stats;
+
+  @BeforeEach
+  public void setUp() {
+    var occupancy = new OccupancyIndex(bookings, 14, 1000);
+    service = new TurfService(turfs, new TurfCatalog(turfs, 1000), occupancy, new SlotAdmission(occupancy));
+    stats = emf.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  public void findAvailableExcludesBookedTurfsInOneQuery() {
+    var football = seedTurfs("Football", 5);
+    seedTurfs("Cricket", 2);
+    book(football.get(0), SLOT);
+    book(football.get(1), SLOT);
+    book(football.get(2), "06:00-08:00");
+    book(football.get(3), "19:00-21:00");
+    legacyBook(football.get(4), SLOT);
+    em.flush();
+    em.clear();
+
+    stats.clear();
+    var ids = service.findAvailable("football", DATE, SLOT).stream().map(TurfDTO::id).toList();
+
+    assertEquals(List.of(football.get(2).getId()), ids);
+    assertEquals(1, stats.getPrepareStatementCount());
+  }
+
+  @Test
+  public void paddedSportTypesAreListedAndFoundTheSameWay() {
+    var padded = seedTurfs(" Football", 1).get(0);
+    var shouting = seedTurfs("FOOTBALL ", 1).get(0);
+    seedTurfs("Cricket", 1);
+    em.flush();
+    em.clear();
+    var catalog = new TurfCatalog(turfs, 1000);
+
+    assertEquals(List.of("Cricket", "Football"), catalog.types());
+    var expected = List.of(padded.getId(), shouting.getId());
+    assertEquals(expected, catalog.bySport("Football").stream().map(TurfDTO::id).sorted().toList());
+    assertEquals(expected, service.findAvailable("football ", DATE, SLOT).stream().map(TurfDTO::id).toList());
+  }
+
+  private List<Turf> seedTurfs(String sport, int count) {
+    var saved = new ArrayList<Turf>(count);
+    for (int i = 0; i < count; i++) {
+      saved.add(em.persist(Turf.builder()
+          .name(sport + " " + i).area("Area " + (i % 4)).sportType(sport).pricePerSlot(2000 + i).build()));
+    }
+    return saved;
+  }
+
+  private void book(Turf turf, String slot) {
+    var range = TimeSlot.parse(slot);
+    em.persist(Booking.builder()
+        .turf(turf).bookingDate(DATE).bookingTime(slot).slotStart(range.startMinute()).slotEnd(range.endMinute())
+        .status(BookingStatus.BOOKED).confirmationCode(UUID.randomUUID().toString()).createdAt(Instant.now()).build());
+  }
+
+  /** A row written before slot_start/slot_end existed. */
+  private void legacyBook(Turf turf, String slot) {
+    em.persist(Booking.builder()
+        .turf(turf).bookingDate(DATE).bookingTime(slot).status(BookingStatus.BOOKED)
+        .confirmationCode(UUID.randomUUID().toString()).createdAt(Instant.now()).build());
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.turf.turf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TurfCatalogTest {
+
+  private final TurfRepository repo = mock(TurfRepository.class);
+  private final TurfCatalog catalog = new TurfCatalog(repo, 100);
+
+  @Test
+  public void typesAreNormalizedOnceUntilATurfChanges() {
+    when(repo.findByActiveTrue()).thenReturn(List.of(turf(1L, "football"), turf(2L, " Cricket"), turf(3L, "FOOTBALL")));
+
+    assertEquals(List.of("Cricket", "Football"), catalog.types());
+    assertEquals(List.of("Cricket", "Football"), catalog.types());
+    verify(repo, times(1)).findByActiveTrue();
+
+    catalog.onTurfChanged(new TurfChangedEvent(2L));
+    catalog.types();
+    verify(repo, times(2)).findByActiveTrue();
+  }
+
+  @Test
+  public void sportsAreNormalizedAndUnknownOnesAreNotCached() {
+    when(repo.findActiveSportKeys()).thenReturn(List.of("football", "cricket"));
+    when(repo.findActiveBySportKey("football")).thenReturn(List.of(turf(1L, "Football")));
+
+    assertEquals(1, catalog.bySport("Football").size());
+    assertEquals(1, catalog.bySport("  FOOTBALL ").size());
+    long entries = catalog.stats().size();
+    assertTrue(catalog.bySport("quidditch").isEmpty());
+    assertTrue(catalog.bySport("x".repeat(500)).isEmpty());
+
+    assertEquals(entries, catalog.stats().size());
+    verify(repo, times(1)).findActiveBySportKey("football");
+    verify(repo, times(1)).findActiveSportKeys();
+    verifyNoMoreInteractions(repo);
+  }
+
+  @Test
+  public void byIdsServesHitsFromCacheAndFetchesMissesInOneQuery() {
+    when(repo.findById(1L)).thenReturn(Optional.of(turf(1L, "Football")));
+    when(repo.findAllById(List.of(3L, 2L))).thenReturn(List.of(turf(2L, "Tennis"), turf(3L, "Cricket")));
+
+    assertTrue(catalog.byId(1L).isPresent());
+    var ids = catalog.byIds(List.of(3L, 1L, 2L, 3L)).stream().map(t -> t.id()).toList();
+
+    assertEquals(List.of(3L, 1L, 2L), ids);
+    verify(repo, times(1)).findById(1L);
+    verify(repo, times(1)).findAllById(List.of(3L, 2L));
+  }
+
+  @Test
+  public void aTurfChangedDuringTheBatchQueryIsNotCached() {
+    when(repo.findAllById(List.of(5L))).thenAnswer(inv -> {
+      catalog.onTurfChanged(new TurfChangedEvent(5L));
+      return List.of(turf(5L, "Padel"));
+    });
+
+    assertEquals(1, catalog.byIds(List.of(5L)).size());
+    assertEquals(0, catalog.byIdStats().size());
+  }
+
+  @Test
+  public void inactiveTurfsAreNotFoundById() {
+    var closed = turf(4L, "Futsal");
+    closed.setActive(false);
+    when(repo.findById(4L)).thenReturn(Optional.of(closed));
+
+    assertTrue(catalog.byId(4L).isEmpty());
+  }
+
+  private static Turf turf(Long id, String sport) {
+    return Turf.builder().id(id).name("Turf " + id).area("City Center").sportType(sport).pricePerSlot(2000).build();
+  }
+}
@@ -0,0 +1,126 @@
+package com.example.turf.turf.search;
+
+import com.example.turf.booking.BookingRepository;
+import com.example.turf.booking.dto.BookedSlot;
+import com.example.turf.booking.occupancy.OccupancyIndex;
+import com.example.turf.booking.occupancy.SlotAdmission;
+import com.example.turf.turf.TurfCatalog;
+import com.example.turf.turf.dto.FreeSlot;
+import com.example.turf.turf.dto.TurfDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class FreeSlotFinderTest {
+
+  private final LocalDate today = LocalDate.now();
+  private final BookingRepository bookings = mock(BookingRepository.class);
+  private final TurfCatalog catalog = mock(TurfCatalog.class);
+  private final OccupancyIndex occupancy = new OccupancyIndex(bookings, 3, 1000);
+  private final SlotAdmission admission = new SlotAdmission(occupancy);
+  private final PlatformTransactionManager tm = mock(PlatformTransactionManager.class);
+  // nine in the morning today: the 06:00 and 08:00 slots have started
+  private final Clock clock = Clock.fixed(today.atTime(9, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+  private final FreeSlotFinder finder = new FreeSlotFinder(catalog, occupancy, admission, bookings, new TransactionTemplate(tm),
+      new String[] {"10:00-12:00", "06:00-08:00", "08:00-10:00", "18:00-20:00"}, clock);
+
+  @BeforeEach
+  public void setUp() {
+    when(tm.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    when(catalog.bySport("Football")).thenReturn(List.of(
+        new TurfDTO(2L, "North A", "North Side", "Football", 3000),
+        new TurfDTO(1L, "Central A", "City Center", "Football", 2500)));
+  }
+
+  @Test
+  public void scansTheWindowInDateSlotTurfOrderAndStopsAtTheLimit() {
+    var tomorrow = today.plusDays(1);
+    when(bookings.findBookedSlots(any(), any())).thenReturn(List.of(
+        new BookedSlot(1L, tomorrow, "06:00-08:00"),
+        new BookedSlot(2L, tomorrow, "06:00-10:00")));
+    occupancy.warm();
+
+    var found = finder.find(new FreeSlotQuery("Football", null, tomorrow, 30, LocalTime.of(6, 0), LocalTime.of(12, 0), 3));
+
+    assertEquals(List.of(
+        slot(tomorrow, "08:00-10:00", 1L),
+        slot(tomorrow, "10:00-12:00", 1L),
+        slot(tomorrow, "10:00-12:00", 2L)), keys(found));
+    verify(bookings, times(1)).findBookedSlots(any(), any()); // the warm-up only
+    verify(bookings, never()).streamBookedSlots(any(), any(), any());
+  }
+
+  @Test
+  public void datesPastTheWindowAreReadAWeekAtATimeAndOnlyAsFarAsNeeded() {
+    var first = today.plusDays(3);
+    when(bookings.streamBookedSlots(Set.of(1L, 2L), first, first.plusDays(6))).thenReturn(Stream.of(
+        new BookedSlot(1L, first, "morning"),       // legacy slot: whole day taken
+        new BookedSlot(2L, first, "06:00-08:00")));
+
+    var found = finder.find(new FreeSlotQuery("Football", null, first, 30, null, null, 2));
+
+    assertEquals(List.of(slot(first, "08:00-10:00", 2L), slot(first, "10:00-12:00", 2L)), keys(found));
+    verify(bookings).streamBookedSlots(Set.of(1L, 2L), first, first.plusDays(6)); // only the sport's turfs
+    verifyNoMoreInteractions(bookings);
+  }
+
+  @Test
+  public void areaTimeWindowAndClaimsNarrowTheSearch() {
+    occupancy.warm();
+    var tomorrow = today.plusDays(1);
+
+    try (var held = admission.claim(1L, tomorrow, "18:00-19:00")) {
+      var found = finder.find(new FreeSlotQuery("Football", " city center ", tomorrow, 5, LocalTime.of(17, 0), null, 2));
+
+      assertEquals(List.of(slot(tomorrow.plusDays(1), "18:00-20:00", 1L), slot(tomorrow.plusDays(2), "18:00-20:00", 1L)),
+          keys(found));
+      assertEquals("Central A", found.get(0).turf().name());
+    }
+  }
+
+  @Test
+  public void runsOutOfDatesWithFewerThanTheLimit() {
+    occupancy.warm();
+
+    var found = finder.find(new FreeSlotQuery("Football", null, today.plusDays(1), 1, LocalTime.of(18, 0), null, 10));
+
+    assertEquals(2, found.size());
+    assertTrue(finder.find(new FreeSlotQuery("Football", "Riverside", today.plusDays(1), 30, null, null, 10)).isEmpty());
+  }
+
+  @Test
+  public void slotsThatHaveAlreadyStartedAreSkipped() {
+    occupancy.warm();
+
+    var found = finder.find(new FreeSlotQuery("Football", null, today.minusDays(1), 3, null, null, 5));
+
+    assertEquals(List.of(
+        slot(today, "10:00-12:00", 1L),
+        slot(today, "10:00-12:00", 2L),
+        slot(today, "18:00-20:00", 1L),
+        slot(today, "18:00-20:00", 2L),
+        slot(today.plusDays(1), "06:00-08:00", 1L)), keys(found));
+  }
+
+  private static String slot(LocalDate date, String timeSlot, Long turfId) {
+    return date + " " + timeSlot + " #" + turfId;
+  }
+
+  private static List<String> keys(List<FreeSlot> found) {
+    return found.stream().map(f -> slot(f.date(), f.timeSlot(), f.turf().id())).toList();
+  }
+}
@@ -0,0 +1,123 @@
+package com.example.turf.turf.search;
+
+import com.example.turf.turf.Turf;
+import com.example.turf.turf.TurfChangedEvent;
+import com.example.turf.turf.TurfRepository;
+import com.example.turf.turf.dto.TurfDTO;
+import com.example.turf.turf.dto.TurfSearchResult.FacetCount;
+import com.example.turf.turf.dto.TurfSearchResult.PriceBucket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TurfSearchIndexTest {
+
+  private final TurfRepository repo = mock(TurfRepository.class);
+  private final TurfSearchIndex index = new TurfSearchIndex(repo, new int[] {2000, 3000});
+
+  @BeforeEach
+  public void build() {
+    when(repo.findByActiveTrue()).thenReturn(List.of(
+        turf(1L, "Central Football A", "City Center", "Football", 3000),
+        turf(2L, "Central Cricket A", "City Center", " cricket", 3500),
+        turf(3L, "North Football A", "North Side", "Football", 2800),
+        turf(4L, "North Futsal A", "North Side", "Futsal", 1900),
+        turf(5L, "Riverside Football", "Riverside", "football", null)));
+    index.rebuild();
+  }
+
+  @Test
+  public void facetsCountUnderEveryFilterButTheirOwn() {
+    var result = index.search(query(null, Set.of("north side"), Set.of("Football"), null, null), null);
+
+    assertEquals(List.of(3L), ids(result.turfs()));
+    // areas ignore the area filter: Football turfs per area
+    assertEquals(List.of(new FacetCount("City Center", 1), new FacetCount("North Side", 1), new FacetCount("Riverside", 1)),
+        result.areas());
+    // sports ignore the sport filter: North Side turfs per sport
+    assertEquals(List.of(new FacetCount("Football", 1), new FacetCount("Futsal", 1)), result.sports());
+    assertEquals(List.of(new PriceBucket(null, 2000, 0), new PriceBucket(2000, 3000, 1), new PriceBucket(3000, null, 0)),
+        result.prices());
+  }
+
+  @Test
+  public void wordsMatchByPrefixAcrossNameAreaAndSport() {
+    assertEquals(List.of(3L, 1L, 5L), ids(index.search(query("foot", Set.of(), Set.of(), null, null), null).turfs()));
+    assertEquals(List.of(4L, 3L), ids(index.search(query("NORTH", Set.of(), Set.of(), null, null), null).turfs()));
+    assertEquals(List.of(2L), ids(index.search(query("cent cri", Set.of(), Set.of(), null, null), null).turfs()));
+    assertEquals(0, index.search(query("north cricket", Set.of(), Set.of(), null, null), null).total());
+  }
+
+  @Test
+  public void priceRangeIsInclusiveAndSkipsUnpricedTurfs() {
+    var result = index.search(query(null, Set.of(), Set.of(), 2800, 3000), null);
+
+    assertEquals(List.of(3L, 1L), ids(result.turfs()));
+    assertEquals(List.of(new FacetCount("City Center", 1), new FacetCount("North Side", 1)), result.areas());
+  }
+
+  @Test
+  public void resultsAreSortedByPriceAndCutAtTheLimitButTotalCountsAll() {
+    var result = index.search(new TurfQuery(null, null, null, null, null, 2), null);
+
+    assertEquals(5, result.total());
+    assertEquals(List.of(4L, 3L), ids(result.turfs()));
+  }
+
+  @Test
+  public void availabilityFilterAppliesToResultsAndFacets() {
+    var result = index.search(query(null, Set.of(), Set.of("football"), null, null), id -> id != 1L);
+
+    assertEquals(List.of(3L, 5L), ids(result.turfs()));
+    // the booked turf drops out of the facets too
+    assertEquals(List.of(new FacetCount("North Side", 1), new FacetCount("Riverside", 1)), result.areas());
+    assertEquals(List.of(new FacetCount("Football", 2), new FacetCount("Futsal", 1), new FacetCount("cricket", 1)),
+        result.sports());
+  }
+
+  @Test
+  public void changesAreAppliedOneTurfAtATime() {
+    when(repo.findById(3L)).thenReturn(Optional.of(turf(3L, "North Cricket B", "North Side", "Cricket", 2600)));
+    index.onTurfChanged(new TurfChangedEvent(3L));
+    var closed = turf(4L, "North Futsal A", "North Side", "Futsal", 1900);
+    closed.setActive(false);
+    when(repo.findById(4L)).thenReturn(Optional.of(closed));
+    index.onTurfChanged(new TurfChangedEvent(4L));
+    when(repo.findById(6L)).thenReturn(Optional.of(turf(6L, "East Padel", "East End", "Padel", 2200)));
+    index.onTurfChanged(new TurfChangedEvent(6L));
+
+    assertEquals(5, index.size());
+    assertEquals(List.of(3L), ids(index.search(query(null, Set.of("North Side"), Set.of(), null, null), null).turfs()));
+    assertEquals(0, index.search(query("futsal", Set.of(), Set.of(), null, null), null).total());
+    assertEquals(List.of(3L, 2L), ids(index.search(query(null, Set.of(), Set.of("Cricket"), null, null), null).turfs()));
+    assertEquals(List.of(6L), ids(index.search(query("pad", Set.of(), Set.of(), null, null), null).turfs()));
+    verify(repo, times(1)).findByActiveTrue();
+  }
+
+  @Test
+  public void repeatedUpdatesDoNotGrowTheIndex() {
+    when(repo.findById(1L)).thenReturn(Optional.of(turf(1L, "Central Football A", "City Center", "Football", 3100)));
+    for (int i = 0; i < 5000; i++) index.onTurfChanged(new TurfChangedEvent(1L));
+
+    assertEquals(5, index.size());
+    assertEquals(List.of(1L), ids(index.search(query(null, Set.of(), Set.of(), 3100, 3100), null).turfs()));
+  }
+
+  private static TurfQuery query(String text, Set<String> areas, Set<String> sports, Integer min, Integer max) {
+    return new TurfQuery(text, areas, sports, min, max, 50);
+  }
+
+  private static List<Long> ids(List<TurfDTO> turfs) {
+    return turfs.stream().map(TurfDTO::id).toList();
+  }
+
+  private static Turf turf(Long id, String name, String area, String sport, Integer price) {
+    return Turf.builder().id(id).name(name).area(area).sportType(sport).pricePerSlot(price).build();
+  }
+}
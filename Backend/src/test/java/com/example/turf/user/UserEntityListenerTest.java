@@ -0,0 +1,42 @@
+package com.example.turf.user;
+
+import com.example.turf.support.CommittingJpaSliceTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@CommittingJpaSliceTest
+@RecordApplicationEvents
+public class UserEntityListenerTest {
+
+  @Autowired private UserRepository users;
+  @Autowired private TransactionTemplate tx;
+  @Autowired private ApplicationEvents events;
+
+  @AfterEach
+  public void clean() {
+    users.deleteAll();
+  }
+
+  @Test
+  public void changingOnlyRolesIsAUserChange() {
+    Long id = users.save(User.builder().fullName("Role Change").email("roles@example.com").passwordHash("x")
+        .roles(new HashSet<>(Set.of(Role.USER))).createdAt(Instant.now()).build()).getId();
+    assertEquals(0, events.stream(UserChangedEvent.class).count()); // inserts change nobody's session
+
+    tx.executeWithoutResult(status -> users.findById(id).orElseThrow().getRoles().add(Role.ADMIN));
+
+    assertEquals(List.of(new UserChangedEvent(id)), events.stream(UserChangedEvent.class).toList());
+    assertEquals(Set.of(Role.USER, Role.ADMIN), users.findById(id).orElseThrow().getRoles());
+  }
+}